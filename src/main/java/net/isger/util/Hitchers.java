@@ -1,8 +1,21 @@
 package net.isger.util;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.isger.util.hitch.HitchRecord;
 import net.isger.util.hitch.Hitcher;
 
 /**
@@ -13,22 +26,170 @@ import net.isger.util.hitch.Hitcher;
  */
 public class Hitchers {
 
-    private static final Map<String, Hitcher> HITCHERS;
+    private static final Logger LOG;
+
+    /** 搭载器（同一路径仅生成一次） */
+    private static final ConcurrentHashMap<String, Build> HITCHERS;
 
     static {
-        HITCHERS = new HashMap<String, Hitcher>();
+        LOG = LoggerFactory.getLogger(Hitchers.class);
+        HITCHERS = new ConcurrentHashMap<String, Build>();
     }
 
     private Hitchers() {
     }
 
     public static Hitcher getHitcher(String path) {
-        Hitcher hitcher = HITCHERS.get(path);
-        if (hitcher == null) {
-            hitcher = new Hitcher(path);
-            HITCHERS.put(path, hitcher);
+        Build build = HITCHERS.get(path);
+        if (build == null) {
+            Build pending = new Build(path);
+            build = HITCHERS.putIfAbsent(path, pending);
+            if (build == null) {
+                build = pending;
+                build.run();
+            }
+        }
+        /* 生成过程中重入同一路径（如静态初始化），直接生成 */
+        if (build.owner == Thread.currentThread()) {
+            return new Hitcher(path);
+        }
+        try {
+            return build.get();
+        } catch (ExecutionException e) {
+            HITCHERS.remove(path, build);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(
+                    "Failure create hitcher for " + path, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted to create hitcher for " + path, e);
+        }
+    }
+
+    /**
+     * 获取搭载记录（已生成的搭载器）
+     * 
+     * @return
+     */
+    public static List<HitchRecord> getRecords() {
+        List<HitchRecord> result = new ArrayList<HitchRecord>();
+        for (Build build : HITCHERS.values()) {
+            if (build.isDone()) {
+                try {
+                    result.add(build.get().getRecord());
+                } catch (Exception e) {
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取搭载报告
+     * 
+     * @return
+     */
+    public static String getReport() {
+        StringBuilder buffer = new StringBuilder(512);
+        for (HitchRecord record : getRecords()) {
+            buffer.append(record).append('\n');
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * 并行生成搭载器（并行数为处理器个数）
+     * 
+     * @param paths
+     * @return
+     */
+    public static Map<String, Hitcher> getHitchers(Collection<String> paths) {
+        return getHitchers(paths, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 并行生成搭载器（生成失败的路径不在结果中）
+     * 
+     * <pre>
+     * 用于启动时预先生成，勿在类静态初始化过程中调用
+     * </pre>
+     * 
+     * @param paths
+     * @param parallelism
+     *            最大并行数
+     * @return 按路径顺序的搭载器
+     */
+    public static Map<String, Hitcher> getHitchers(Collection<String> paths,
+            int parallelism) {
+        Map<String, Hitcher> result = new LinkedHashMap<String, Hitcher>();
+        if (paths.isEmpty()) {
+            return result;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(parallelism, paths.size())));
+        try {
+            List<Future<Hitcher>> futures = new ArrayList<Future<Hitcher>>();
+            for (final String path : paths) {
+                futures.add(executor
+                        .submit(new java.util.concurrent.Callable<Hitcher>() {
+                            public Hitcher call() throws Exception {
+                                return getHitcher(path);
+                            }
+                        }));
+            }
+            int index = 0;
+            for (String path : paths) {
+                try {
+                    result.put(path, futures.get(index++).get());
+                } catch (ExecutionException e) {
+                    LOG.warn("Failure create hitcher for {}", path,
+                            e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted to create hitchers",
+                    e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    /**
+     * 搭载器生成任务
+     * 
+     * @author issing
+     *
+     */
+    private static class Build extends FutureTask<Hitcher> {
+
+        /** 生成线程 */
+        private volatile Thread owner;
+
+        public Build(final String path) {
+            super(new java.util.concurrent.Callable<Hitcher>() {
+                public Hitcher call() throws Exception {
+                    return new Hitcher(path);
+                }
+            });
         }
-        return hitcher;
+
+        public void run() {
+            owner = Thread.currentThread();
+            try {
+                super.run();
+            } finally {
+                owner = null;
+            }
+        }
+
     }
 
 }
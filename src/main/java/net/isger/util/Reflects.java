@@ -2,6 +2,8 @@ package net.isger.util;
 
 import java.io.InputStream;
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
@@ -12,10 +14,12 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -23,12 +27,12 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Queue;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
@@ -36,9 +40,16 @@ import org.slf4j.LoggerFactory;
 
 import net.isger.util.anno.Ignore;
 import net.isger.util.anno.Ignore.Mode;
+import net.isger.util.anno.IndexKeys;
+import net.isger.util.reflect.BeanExtractor;
+import net.isger.util.reflect.BindingPlan;
 import net.isger.util.reflect.BoundField;
 import net.isger.util.reflect.BoundMethod;
+import net.isger.util.reflect.BulkBinding;
+import net.isger.util.reflect.ClassCache;
 import net.isger.util.reflect.Constructor;
+import net.isger.util.reflect.RowMapper;
+import net.isger.util.reflect.TypeToken;
 
 /**
  * 反射工具
@@ -55,16 +66,31 @@ public class Reflects {
     /** 反射类配置键 */
     public static final String KEY_CLASS = "class";
 
+    /** 未知类缓存上限（按类加载器） */
+    private static final int MAX_MISSING_CLASSES = 1024;
+
     /** 包装类型集合 */
     private static final Map<Class<?>, Class<?>> WRAP_TYPES;
 
     private static final Logger LOG;
 
     /** 类字段缓存 */
-    private static final Map<Class<?>, Map<String, List<BoundField>>> FIELDS;
+    private static final ClassCache<Map<String, List<BoundField>>> FIELDS;
 
     /** 类方法缓存 */
-    private static final Map<Class<?>, Map<String, List<BoundMethod>>> METHODS;
+    private static final ClassCache<Map<String, List<BoundMethod>>> METHODS;
+
+    /** 类绑定计划缓存 */
+    private static final ClassCache<BindingPlan> PLANS;
+
+    /** 类查找缓存（按类加载器，含元数据索引） */
+    private static final Map<ClassLoader, ClassLookup> CLASSES;
+
+    /** 泛型落地类型缓存（类上下文） */
+    private static final ClassCache<Map<Type, Type>> RESOLVES;
+
+    /** 泛型多态类型缓存（类上下文） */
+    private static final ClassCache<Map<Class<?>, Type>> SUPERS;
 
     static {
         WRAP_TYPES = new HashMap<Class<?>, Class<?>>();
@@ -80,8 +106,16 @@ public class Reflects {
 
         LOG = LoggerFactory.getLogger(Reflects.class);
 
-        FIELDS = new ConcurrentHashMap<Class<?>, Map<String, List<BoundField>>>();
-        METHODS = new ConcurrentHashMap<Class<?>, Map<String, List<BoundMethod>>>();
+        int capacity = ClassCache.getDefaultCapacity();
+        FIELDS = new ClassCache<Map<String, List<BoundField>>>("fields",
+                capacity);
+        METHODS = new ClassCache<Map<String, List<BoundMethod>>>("methods",
+                capacity);
+        PLANS = new ClassCache<BindingPlan>("plans", capacity);
+        RESOLVES = new ClassCache<Map<Type, Type>>("resolves", capacity);
+        SUPERS = new ClassCache<Map<Class<?>, Type>>("supers", capacity);
+        CLASSES = Collections
+                .synchronizedMap(new WeakHashMap<ClassLoader, ClassLookup>());
     }
 
     private Reflects() {
@@ -123,7 +157,12 @@ public class Reflects {
      * @return
      */
     public static Type toCanonicalize(Type type) {
-        if (type instanceof Class) {
+        /* 已规范化 */
+        if (type instanceof ParameterizedTypeImpl
+                || type instanceof GenericArrayTypeImpl
+                || type instanceof WildcardTypeImpl) {
+            return type;
+        } else if (type instanceof Class) {
             Class<?> pending = (Class<?>) type;
             return pending.isArray()
                     ? new GenericArrayTypeImpl(
@@ -155,6 +194,33 @@ public class Reflects {
      */
     public static Type getResolveType(Type contextType, Class<?> rawClass,
             Type resolveType) {
+        /* 仅缓存类上下文（结果仅引用该类可见类型） */
+        if (resolveType == null || contextType != rawClass) {
+            return toResolveType(contextType, rawClass, resolveType);
+        }
+        Map<Type, Type> resolves = RESOLVES.get(rawClass);
+        if (resolves == null) {
+            RESOLVES.put(rawClass,
+                    resolves = new ConcurrentHashMap<Type, Type>());
+        }
+        Type result = resolves.get(resolveType);
+        if (result == null) {
+            resolves.put(resolveType,
+                    result = toResolveType(contextType, rawClass, resolveType));
+        }
+        return result;
+    }
+
+    /**
+     * 获取泛型落地类型
+     *
+     * @param contextType
+     * @param rawClass
+     * @param resolveType
+     * @return
+     */
+    private static Type toResolveType(Type contextType, Class<?> rawClass,
+            Type resolveType) {
         do {
             if (resolveType instanceof TypeVariable) {
                 TypeVariable<?> typeVariable = (TypeVariable<?>) resolveType;
@@ -167,26 +233,26 @@ public class Reflects {
                     && ((Class<?>) resolveType).isArray()) {
                 Class<?> original = (Class<?>) resolveType;
                 Type componentType = original.getComponentType();
-                Type newComponentType = getResolveType(contextType, rawClass,
+                Type newComponentType = toResolveType(contextType, rawClass,
                         componentType);
                 return componentType == newComponentType ? original
                         : newArrayType(newComponentType);
             } else if (resolveType instanceof GenericArrayType) {
                 GenericArrayType original = (GenericArrayType) resolveType;
                 Type componentType = original.getGenericComponentType();
-                Type newComponentType = getResolveType(contextType, rawClass,
+                Type newComponentType = toResolveType(contextType, rawClass,
                         componentType);
                 return componentType == newComponentType ? original
                         : newArrayType(newComponentType);
             } else if (resolveType instanceof ParameterizedType) {
                 ParameterizedType original = (ParameterizedType) resolveType;
                 Type ownerType = original.getOwnerType();
-                Type newOwnerType = getResolveType(contextType, rawClass,
+                Type newOwnerType = toResolveType(contextType, rawClass,
                         ownerType);
                 boolean changed = newOwnerType != ownerType;
                 Type[] args = original.getActualTypeArguments();
                 for (int t = 0, length = args.length; t < length; t++) {
-                    Type resolvedTypeArgument = getResolveType(contextType,
+                    Type resolvedTypeArgument = toResolveType(contextType,
                             rawClass, args[t]);
                     if (resolvedTypeArgument != args[t]) {
                         if (!changed) {
@@ -203,13 +269,13 @@ public class Reflects {
                 Type[] originalLowerBound = original.getLowerBounds();
                 Type[] originalUpperBound = original.getUpperBounds();
                 if (originalLowerBound.length == 1) {
-                    Type lowerBound = getResolveType(contextType, rawClass,
+                    Type lowerBound = toResolveType(contextType, rawClass,
                             originalLowerBound[0]);
                     if (lowerBound != originalLowerBound[0]) {
                         return newLowerType(lowerBound);
                     }
                 } else if (originalUpperBound.length == 1) {
-                    Type upperBound = getResolveType(contextType, rawClass,
+                    Type upperBound = toResolveType(contextType, rawClass,
                             originalUpperBound[0]);
                     if (upperBound != originalUpperBound[0]) {
                         return newUpperType(upperBound);
@@ -259,6 +325,32 @@ public class Reflects {
      */
     public static Type getSuperType(Type contextType, Class<?> rawClass,
             Class<?> resolveClass) {
+        if (contextType != rawClass) {
+            return toSuperType(contextType, rawClass, resolveClass);
+        }
+        Map<Class<?>, Type> supers = SUPERS.get(rawClass);
+        if (supers == null) {
+            SUPERS.put(rawClass,
+                    supers = new ConcurrentHashMap<Class<?>, Type>());
+        }
+        Type result = supers.get(resolveClass);
+        if (result == null) {
+            supers.put(resolveClass,
+                    result = toSuperType(contextType, rawClass, resolveClass));
+        }
+        return result;
+    }
+
+    /**
+     * 获取泛型多态落地类型
+     *
+     * @param contextType
+     * @param rawClass
+     * @param resolveClass
+     * @return
+     */
+    private static Type toSuperType(Type contextType, Class<?> rawClass,
+            Class<?> resolveClass) {
         if (resolveClass == rawClass) {
             return contextType;
         }
@@ -413,18 +505,60 @@ public class Reflects {
      * @throws LinkageError
      */
     public static Class<?> getClass(String name, ClassLoader classLoader) {
+        if (name == null) {
+            return null;
+        }
         if (classLoader == null) {
             classLoader = getClassLoader();
         }
-        Class<?> result = null;
+        ClassLookup lookup = getClassLookup(classLoader);
+        Class<?> result = lookup.get(name);
+        if (result != null || lookup.isMissing(name)) {
+            return result;
+        }
         try {
             result = (classLoader != null ? classLoader.loadClass(name)
                     : Class.forName(name));
         } catch (Exception ex) {
+            lookup.miss(name);
+            return null;
         }
+        lookup.put(name, result);
         return result;
     }
 
+    /**
+     * 获取类查找缓存
+     * 
+     * @param classLoader
+     * @return
+     */
+    private static ClassLookup getClassLookup(ClassLoader classLoader) {
+        synchronized (CLASSES) {
+            ClassLookup lookup = CLASSES.get(classLoader);
+            if (lookup == null) {
+                CLASSES.put(classLoader, lookup = new ClassLookup());
+            }
+            return lookup;
+        }
+    }
+
+    /**
+     * 清除类查找缓存（类路径变更后调用）
+     */
+    public static void invalidateClasses() {
+        CLASSES.clear();
+    }
+
+    /**
+     * 清除类查找缓存（类路径变更后调用）
+     * 
+     * @param classLoader
+     */
+    public static void invalidateClasses(ClassLoader classLoader) {
+        CLASSES.remove(classLoader);
+    }
+
     /**
      * 获取包装类型
      * 
@@ -544,6 +678,31 @@ public class Reflects {
         return result;
     }
 
+    /**
+     * 获取元数据缓存（字段、方法、绑定计划、泛型解析及类型令牌）
+     * 
+     * @return
+     */
+    public static List<ClassCache<?>> getCaches() {
+        List<ClassCache<?>> caches = new ArrayList<ClassCache<?>>();
+        caches.add(FIELDS);
+        caches.add(METHODS);
+        caches.add(PLANS);
+        caches.add(RESOLVES);
+        caches.add(SUPERS);
+        caches.add(TypeToken.getCache());
+        return caches;
+    }
+
+    /**
+     * 清空元数据缓存
+     */
+    public static void clearCaches() {
+        for (ClassCache<?> cache : getCaches()) {
+            cache.clear();
+        }
+    }
+
     /**
      * 获取绑定字段信息
      * 
@@ -564,17 +723,23 @@ public class Reflects {
         List<BoundField> boundFields;
         Class<?> pending = clazz;
         while (pending != null && pending != Object.class) {
-            // 忽略指定类
-            ignoreMode = getIgnoreMode(pending);
-            // 导入声明字段（字段名优先）
-            boundFields = new ArrayList<BoundField>();
-            for (Field field : pending.getDeclaredFields()) {
-                if ((boundField = createBoundField(field, ignoreMode)) != null
-                        && Helpers.toAppend(result, boundField.getName(),
-                                boundField)) {
-                    boundFields.add(boundField);
+            // 优先采用元数据索引
+            boundFields = getIndexedFields(pending);
+            if (boundFields == null) {
+                // 忽略指定类
+                ignoreMode = getIgnoreMode(pending);
+                boundFields = new ArrayList<BoundField>();
+                for (Field field : pending.getDeclaredFields()) {
+                    if ((boundField = createBoundField(field,
+                            ignoreMode)) != null) {
+                        boundFields.add(boundField);
+                    }
                 }
             }
+            // 导入声明字段（字段名优先）
+            for (BoundField field : boundFields) {
+                Helpers.toAppend(result, field.getName(), field);
+            }
             // 导入别名字段（候选）
             for (BoundField field : boundFields) {
                 name = field.getAlias();
@@ -605,6 +770,134 @@ public class Reflects {
         return null;
     }
 
+    /**
+     * 获取绑定计划
+     * 
+     * @param clazz
+     * @return
+     */
+    public static BindingPlan getBindingPlan(Class<?> clazz) {
+        BindingPlan result = PLANS.get(clazz);
+        if (result == null) {
+            Map<String, List<BoundField>> fields = getBoundFields(clazz);
+            if (fields == null) {
+                return null;
+            }
+            PLANS.put(clazz, result = new BindingPlan(clazz, fields));
+        }
+        return result;
+    }
+
+    /**
+     * 获取实例提取器
+     * 
+     * @param clazz
+     * @return
+     */
+    public static BeanExtractor getExtractor(Class<?> clazz) {
+        BindingPlan plan = getBindingPlan(clazz);
+        return plan == null ? null : plan.getExtractor();
+    }
+
+    /**
+     * 获取行映射（集合类型及层级列不支持，返回空）
+     * 
+     * @param clazz
+     * @param columns
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> getRowMapper(Class<T> clazz,
+            Object[] columns) {
+        if (Map.class.isAssignableFrom(clazz)) {
+            return null;
+        }
+        BindingPlan plan = getBindingPlan(clazz);
+        return plan == null ? null : (RowMapper<T>) plan.getMapper(columns);
+    }
+
+    /**
+     * 获取索引绑定字段信息（无索引或索引失效时返回空）
+     * 
+     * @param clazz
+     * @return
+     */
+    private static List<BoundField> getIndexedFields(Class<?> clazz) {
+        Properties index = getIndex(clazz);
+        if (index == null) {
+            return null;
+        }
+        String className = clazz.getName();
+        String classMode = index.getProperty(className);
+        if (classMode == null) {
+            return null;
+        }
+        Mode mode = Strings.isEmpty(classMode) ? null : toIgnoreMode(classMode);
+        Mode fieldMode;
+        String key;
+        String name;
+        List<BoundField> result = new ArrayList<BoundField>();
+        try {
+            for (int i = 0; (name = index.getProperty(key = IndexKeys
+                    .getFieldKey(className, i))) != null; i++) {
+                fieldMode = toIgnoreMode(
+                        index.getProperty(key + IndexKeys.SUFFIX_IGNORE));
+                if (fieldMode == null) {
+                    if (mode == null) {
+                        mode = getIgnoreMode(clazz);
+                    }
+                    fieldMode = mode;
+                }
+                if (Mode.EXCLUDE.equals(fieldMode)) {
+                    continue;
+                }
+                result.add(new BoundField(clazz.getDeclaredField(name),
+                        index.getProperty(key + IndexKeys.SUFFIX_ALIAS),
+                        index.getProperty(key + IndexKeys.SUFFIX_AFFIX),
+                        Boolean.parseBoolean(index.getProperty(
+                                key + IndexKeys.SUFFIX_INJECT)),
+                        Boolean.parseBoolean(index.getProperty(
+                                key + IndexKeys.SUFFIX_INFECT))));
+            }
+        } catch (NoSuchFieldException e) {
+            LOG.warn("(!) Stale metadata index of {}", className);
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * 获取类所在类路径条目的元数据索引（按定义类加载器缓存，无索引时返回空）
+     * 
+     * @param clazz
+     * @return
+     */
+    private static Properties getIndex(Class<?> clazz) {
+        ClassLoader classLoader = clazz.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+        String name = clazz.getName().replace('.', '/') + ".class";
+        URL url = classLoader.getResource(name);
+        String root = url == null ? "" : url.toString();
+        if (!root.endsWith(name)) {
+            return null;
+        }
+        root = root.substring(0, root.length() - name.length());
+        ClassLookup lookup = getClassLookup(classLoader);
+        Properties index = lookup.getIndex(root);
+        if (index == null) {
+            index = new Properties();
+            try {
+                Helpers.load(index, false,
+                        new URL(root + IndexKeys.INDEX_RESOURCE));
+            } catch (MalformedURLException e) {
+            }
+            lookup.putIndex(root, index);
+        }
+        return index.isEmpty() ? null : index;
+    }
+
     /**
      * 创建绑定字段信息
      * 
@@ -736,6 +1029,15 @@ public class Reflects {
         return mode;
     }
 
+    private static Mode toIgnoreMode(String name) {
+        if (Mode.EXCLUDE_NAME.equals(name)) {
+            return Mode.EXCLUDE;
+        } else if (Mode.INCLUDE_NAME.equals(name)) {
+            return Mode.INCLUDE;
+        }
+        return null;
+    }
+
     private static Mode getIgnoreMode(Ignore ignore, Mode mode) {
         if (ignore != null) {
             Mode result = ignore.mode();
@@ -905,37 +1207,13 @@ public class Reflects {
      */
     @SuppressWarnings("unchecked")
     public static <T> T toInstance(T instance, Map<String, Object> params,
-            final Callable<?> assembler) {
+            Callable<?> assembler) {
         if (instance instanceof Map) {
             ((Map<String, Object>) instance).putAll(params);
             return instance;
         }
-        final Map<String, Object> values = Helpers.toHierarchical(params);
-        String fieldName;
-        BoundField field;
-        Map<String, List<BoundField>> fields = getBoundFields(
-                instance.getClass());
-        Callable<?> fieldAssembler = assembler == null
-                ? new Callable<Object>() {
-                    public Object call(Object... args) {
-                        return args[2]; // 直接返回字段实例
-                    }
-                } : new Callable<Object>() {
-                    public Object call(Object... args) {
-                        return assembler.call(
-                                (Object[]) Helpers.newArray(args, values));
-                    }
-                };
-        for (Entry<String, List<BoundField>> entry : fields.entrySet()) {
-            fieldName = entry.getKey();
-            field = entry.getValue().get(0);
-            if (values.containsKey(fieldName)) {
-                field.setValue(instance, values.get(fieldName), fieldAssembler);
-            } else {
-                field.setValue(instance, UNKNOWN, fieldAssembler);
-            }
-        }
-        return instance;
+        return getBindingPlan(instance.getClass()).bind(instance,
+                Helpers.toHierarchical(params), assembler);
     }
 
     /**
@@ -992,6 +1270,12 @@ public class Reflects {
      */
     public static <T> T toBean(Class<T> clazz, Object[] columns,
             Object[] values, Callable<?> assembler) {
+        if (assembler == null) {
+            RowMapper<T> mapper = getRowMapper(clazz, columns);
+            if (mapper != null) {
+                return mapper.map(values);
+            }
+        }
         return Reflects.newInstance(clazz, toMap(columns, values), assembler);
     }
 
@@ -1002,15 +1286,15 @@ public class Reflects {
      * @return
      */
     public static Map<String, Object> toMap(Object bean) {
-        Map<String, Object> values = new HashMap<String, Object>();
-        Map<String, List<BoundField>> fields = getBoundFields(bean.getClass());
-        for (Entry<String, List<BoundField>> entry : fields.entrySet()) {
+        BeanExtractor extractor = getExtractor(bean.getClass());
+        String[] names = extractor.getNames();
+        Map<String, Object> values = new HashMap<String, Object>(
+                names.length * 4 / 3 + 1);
+        for (int i = 0; i < names.length; i++) {
             try {
-                values.put(entry.getKey(),
-                        entry.getValue().get(0).getValue(bean));
+                values.put(names[i], extractor.getValue(bean, i));
             } catch (Exception e) {
-                LOG.warn("Failure getting field [{}] value.", entry.getKey(),
-                        e);
+                LOG.warn("Failure getting field [{}] value.", names[i], e);
             }
         }
         return values;
@@ -1069,7 +1353,17 @@ public class Reflects {
         Object[] columns = (Object[]) grid[0];
         Object gridValue = grid[1];
         if (gridValue instanceof Object[][]) {
-            for (Object[] values : (Object[][]) gridValue) {
+            Object[][] rows = (Object[][]) gridValue;
+            RowMapper<T> mapper = assembler == null
+                    ? getRowMapper(clazz, columns) : null;
+            if (mapper != null) {
+                result = new ArrayList<T>(rows.length);
+                for (Object[] values : rows) {
+                    result.add(mapper.map(values));
+                }
+                return result;
+            }
+            for (Object[] values : rows) {
                 result.add(toBean(clazz, columns, values, assembler));
             }
         } else if (gridValue instanceof Object[]) {
@@ -1118,6 +1412,73 @@ public class Reflects {
         return result;
     }
 
+    /**
+     * 根据网格模型并行转换为集合（未达阈值时串行）
+     *
+     * @param clazz
+     * @param grid
+     * @return
+     */
+    public static <T> List<T> toParallelList(Class<T> clazz, Object[] grid) {
+        return toParallelList(clazz, grid, null, BulkBinding.CHUNK);
+    }
+
+    /**
+     * 根据网格模型并行转换为集合（未达阈值时串行，装配器串行回调）
+     *
+     * @param clazz
+     * @param grid
+     * @param assembler
+     * @param chunk
+     * @return
+     */
+    public static <T> List<T> toParallelList(Class<T> clazz, Object[] grid,
+            Callable<?> assembler, int chunk) {
+        if (grid[1] instanceof Object[][]) {
+            Object[][] rows = (Object[][]) grid[1];
+            if (BulkBinding.isParallel(rows.length)) {
+                return BulkBinding.toList(clazz, (Object[]) grid[0], rows,
+                        assembler, chunk);
+            }
+        }
+        return toList(clazz, grid, assembler);
+    }
+
+    /**
+     * 根据键值对集合并行转换为目标实例集合（未达阈值时串行）
+     *
+     * @param clazz
+     * @param values
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> toParallelList(Class<T> clazz,
+            List<Map<String, Object>> values) {
+        return toParallelList(clazz, values, new Callable<T>() {
+            public T call(Object... args) {
+                return (T) args[1];
+            }
+        }, BulkBinding.CHUNK);
+    }
+
+    /**
+     * 根据键值对集合并行转换为目标实例集合（未达阈值时串行，拦截器按序串行回调）
+     *
+     * @param clazz
+     * @param values
+     * @param interceptor
+     * @param chunk
+     * @return
+     */
+    public static <T> List<T> toParallelList(Class<T> clazz,
+            List<Map<String, Object>> values, Callable<T> interceptor,
+            int chunk) {
+        if (BulkBinding.isParallel(values.size())) {
+            return BulkBinding.toList(clazz, values, interceptor, chunk);
+        }
+        return toList(clazz, values, interceptor);
+    }
+
     /**
      * 根据网格模型转换为集合
      *
@@ -1197,6 +1558,56 @@ public class Reflects {
         }
     }
 
+    /**
+     * 类查找记录（已解析类弱引用，避免牵制类加载器）
+     * 
+     * @author issing
+     */
+    private static final class ClassLookup {
+
+        private final Map<String, Reference<Class<?>>> found;
+
+        private final Map<String, Boolean> missing;
+
+        /** 元数据索引（类路径条目根位置 - 索引） */
+        private final Map<String, Properties> indexes;
+
+        public ClassLookup() {
+            found = new ConcurrentHashMap<String, Reference<Class<?>>>();
+            missing = new ConcurrentHashMap<String, Boolean>();
+            indexes = new ConcurrentHashMap<String, Properties>();
+        }
+
+        public Properties getIndex(String root) {
+            return indexes.get(root);
+        }
+
+        public void putIndex(String root, Properties index) {
+            indexes.put(root, index);
+        }
+
+        public Class<?> get(String name) {
+            Reference<Class<?>> result = found.get(name);
+            return result == null ? null : result.get();
+        }
+
+        public void put(String name, Class<?> clazz) {
+            found.put(name, new WeakReference<Class<?>>(clazz));
+        }
+
+        public boolean isMissing(String name) {
+            return missing.containsKey(name);
+        }
+
+        public void miss(String name) {
+            if (missing.size() >= MAX_MISSING_CLASSES) {
+                missing.clear();
+            }
+            missing.put(name, Boolean.TRUE);
+        }
+
+    }
+
     /**
      * 参数泛型
      * 
@@ -18,7 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import net.isger.util.anno.Alias;
-import net.isger.util.reflect.BoundField;
+import net.isger.util.reflect.BeanExtractor;
 import net.isger.util.sql.SqlEntry;
 
 /**
@@ -201,24 +201,26 @@ public class Sqls {
      *                   </pre>
      */
     public static Object[] getGridData(Object bean) {
-        String column;
-        Object value;
-        List<String> columns = new ArrayList<String>();
-        List<Object> row = new ArrayList<Object>();
-        BoundField field;
-        for (List<BoundField> fields : Reflects.getBoundFields(bean.getClass())
-                .values()) {
-            field = fields.get(0);
-            column = Strings.empty(field.getAlias(),
-                    Sqls.toColumnName(field.getName()));
-            value = field.getValue(bean);
+        BeanExtractor extractor = Reflects.getExtractor(bean.getClass());
+        String[] columns = extractor.getColumns();
+        Object[] values = extractor.extract(bean);
+        int count = 0;
+        for (Object value : values) {
             if (value != null) {
-                columns.add(column);
-                row.add(value);
+                count++;
+            }
+        }
+        /* 剔除空值列 */
+        String[] resultColumns = new String[count];
+        Object[] row = new Object[count];
+        count = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                resultColumns[count] = columns[i];
+                row[count++] = values[i];
             }
         }
-        return new Object[] { columns.toArray(new String[columns.size()]),
-                row.toArray() };
+        return new Object[] { resultColumns, row };
     }
 
     /**
@@ -0,0 +1,57 @@
+package net.isger.util.anno;
+
+/**
+ * 元数据索引键（运行时与索引处理器共用）
+ *
+ * @author issing
+ *
+ */
+public final class IndexKeys {
+
+    /** 索引资源 */
+    public static final String INDEX_RESOURCE = "META-INF/brick/reflects.idx";
+
+    /** 字段键分隔符 */
+    public static final String FIELD_SEPARATOR = "#";
+
+    /** 别名后缀 */
+    public static final String SUFFIX_ALIAS = ".alias";
+
+    /** 附缀后缀 */
+    public static final String SUFFIX_AFFIX = ".affix";
+
+    /** 忽略模式后缀 */
+    public static final String SUFFIX_IGNORE = ".ignore";
+
+    /** 注入后缀 */
+    public static final String SUFFIX_INJECT = ".inject";
+
+    /** 感染后缀 */
+    public static final String SUFFIX_INFECT = ".infect";
+
+    private IndexKeys() {
+    }
+
+    /**
+     * 获取索引键所属类名
+     *
+     * @param key
+     * @return
+     */
+    public static String getClassName(String key) {
+        int index = key.indexOf(FIELD_SEPARATOR);
+        return index == -1 ? key : key.substring(0, index);
+    }
+
+    /**
+     * 获取字段索引键
+     *
+     * @param className
+     * @param index
+     * @return
+     */
+    public static String getFieldKey(String className, int index) {
+        return className + FIELD_SEPARATOR + index;
+    }
+
+}
@@ -0,0 +1,164 @@
+package net.isger.util.anno;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.inject.Inject;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import net.isger.util.Files;
+import net.isger.util.anno.Ignore.Mode;
+
+/**
+ * 元数据索引处理器（编译期生成类绑定字段索引）
+ *
+ * <pre>
+ * javac -processor net.isger.util.anno.IndexProcessor ...
+ * </pre>
+ *
+ * @author issing
+ *
+ */
+@SupportedAnnotationTypes("*")
+public class IndexProcessor extends AbstractProcessor {
+
+    private Properties index;
+
+    public IndexProcessor() {
+        index = new Properties();
+    }
+
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    public boolean process(Set<? extends TypeElement> annotations,
+            RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            write();
+        } else {
+            for (TypeElement type : ElementFilter
+                    .typesIn(roundEnv.getRootElements())) {
+                makeIndex(type);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 生成类索引（含内部类）
+     *
+     * @param type
+     */
+    private void makeIndex(TypeElement type) {
+        for (TypeElement member : ElementFilter
+                .typesIn(type.getEnclosedElements())) {
+            makeIndex(member);
+        }
+        if (type.getKind() != ElementKind.CLASS
+                && type.getKind() != ElementKind.ENUM) {
+            return;
+        }
+        String name = processingEnv.getElementUtils().getBinaryName(type)
+                .toString();
+        Ignore ignore = type.getAnnotation(Ignore.class);
+        index.setProperty(name, ignore == null ? "" : toName(ignore.mode()));
+        int amount = 0;
+        String key;
+        Set<Modifier> modifiers;
+        for (Element field : ElementFilter
+                .fieldsIn(type.getEnclosedElements())) {
+            modifiers = field.getModifiers();
+            // 忽略静态、终态、暂态、瞬态
+            if (modifiers.contains(Modifier.STATIC)
+                    || modifiers.contains(Modifier.FINAL)
+                    || modifiers.contains(Modifier.TRANSIENT)
+                    || modifiers.contains(Modifier.VOLATILE)) {
+                continue;
+            }
+            key = IndexKeys.getFieldKey(name, amount++);
+            index.setProperty(key, field.getSimpleName().toString());
+            ignore = field.getAnnotation(Ignore.class);
+            if (ignore != null) {
+                index.setProperty(key + IndexKeys.SUFFIX_IGNORE,
+                        toName(ignore.mode()));
+            }
+            Alias alias = field.getAnnotation(Alias.class);
+            if (alias != null) {
+                index.setProperty(key + IndexKeys.SUFFIX_ALIAS,
+                        alias.value());
+            }
+            Affix affix = field.getAnnotation(Affix.class);
+            if (affix != null) {
+                index.setProperty(key + IndexKeys.SUFFIX_AFFIX,
+                        affix.value());
+            }
+            if (field.getAnnotation(Inject.class) != null) {
+                index.setProperty(key + IndexKeys.SUFFIX_INJECT, "true");
+            }
+            if (field.getAnnotation(Infect.class) != null) {
+                index.setProperty(key + IndexKeys.SUFFIX_INFECT, "true");
+            }
+        }
+    }
+
+    private String toName(Mode mode) {
+        return mode == Mode.INCLUDE ? Mode.INCLUDE_NAME : Mode.EXCLUDE_NAME;
+    }
+
+    /**
+     * 输出索引（合并增量编译前的索引）
+     */
+    private void write() {
+        if (index.isEmpty()) {
+            return;
+        }
+        Properties result = new Properties();
+        InputStream is = null;
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(
+                    StandardLocation.CLASS_OUTPUT, "",
+                    IndexKeys.INDEX_RESOURCE);
+            is = resource.openInputStream();
+            result.load(is);
+        } catch (Exception e) {
+        } finally {
+            Files.close(is);
+        }
+        /* 清除本次编译类的旧索引 */
+        for (String name : result.stringPropertyNames()) {
+            if (index.containsKey(IndexKeys.getClassName(name))) {
+                result.remove(name);
+            }
+        }
+        result.putAll(index);
+        OutputStream os = null;
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT, "",
+                    IndexKeys.INDEX_RESOURCE);
+            os = resource.openOutputStream();
+            result.store(os, null);
+        } catch (Exception e) {
+            processingEnv.getMessager().printMessage(Kind.WARNING,
+                    "Failure to write " + IndexKeys.INDEX_RESOURCE + ": "
+                            + e);
+        } finally {
+            Files.close(os);
+        }
+    }
+
+}
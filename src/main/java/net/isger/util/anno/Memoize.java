@@ -0,0 +1,18 @@
+package net.isger.util.anno;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 缓存结果（纯函数方法）
+ * 
+ * @author issing
+ * 
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD })
+public @interface Memoize {
+
+}
@@ -4,6 +4,9 @@ import java.net.URL;
 import java.util.Properties;
 import java.util.StringTokenizer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import net.isger.util.Helpers;
 import net.isger.util.Hitchers;
 import net.isger.util.Reflects;
@@ -26,8 +29,14 @@ public class Director {
     /** 分隔表达式 */
     private static final String REGEX_SEPARETOR = "[,;:|]";
 
+    private static final Logger LOG;
+
     protected transient int directed;
 
+    static {
+        LOG = LoggerFactory.getLogger(Director.class);
+    }
+
     protected Director() {
         directed = UNDIRECTED;
     }
@@ -49,6 +58,7 @@ public class Director {
             source = this;
         }
         /* 按指示路径完成搭载 */
+        long time = System.nanoTime();
         StringTokenizer directPath = getTokenizer(directPath());
         while (directPath.hasMoreElements()) {
             directHitch((String) directPath.nextElement(), source);
@@ -58,6 +68,10 @@ public class Director {
         }
         directInflux();
         directed = SUCCESS;
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Directed {} in {}ms", source.getClass().getName(),
+                    (System.nanoTime() - time) / 1000000);
+        }
     }
 
     /**
@@ -97,7 +111,11 @@ public class Director {
         } catch (Exception e) {
             return;
         }
-        if (hitcher.hitch(source)) {
+        boolean isHitch = hitcher.hitch(source);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Hitched {}", hitcher.getRecord());
+        }
+        if (isHitch) {
             directAttach(path);
         } else {
             directed = FAILURE;
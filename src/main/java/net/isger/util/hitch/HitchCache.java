@@ -0,0 +1,227 @@
+package net.isger.util.hitch;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.isger.util.Files;
+import net.isger.util.Helpers;
+import net.isger.util.Reflects;
+import net.isger.util.Scans;
+import net.isger.util.Strings;
+
+/**
+ * 便车缓存（按路径所在类路径条目指纹持久化扫描结果，需配置缓存文件启用）
+ * 
+ * @author issing
+ *
+ */
+public class HitchCache {
+
+    /** 缓存文件配置键 */
+    private static final String KEY_CACHE = "brick.util.hitch.cache";
+
+    private static final String SUFFIX_FINGERPRINT = ".fingerprint";
+
+    private static final String SUFFIX_HITCHES = ".hitches";
+
+    private static final String SEPARATOR = ",";
+
+    private static final Logger LOG;
+
+    /** 默认缓存（按配置的缓存文件） */
+    private static final HitchCache CACHE;
+
+    /** 缓存文件（未配置时为空） */
+    private final File file;
+
+    /** 指纹类加载器（定位路径所在类路径条目） */
+    private final ClassLoader loader;
+
+    private final Properties values;
+
+    static {
+        LOG = LoggerFactory.getLogger(HitchCache.class);
+        String name = Helpers.getProperty(KEY_CACHE, "").trim();
+        CACHE = new HitchCache(name.length() == 0 ? null : new File(name),
+                Reflects.getClassLoader(Scans.class));
+    }
+
+    HitchCache(File file, ClassLoader loader) {
+        this.file = file;
+        this.loader = loader;
+        this.values = new Properties();
+        if (file != null && file.isFile()) {
+            InputStream is = null;
+            try {
+                is = new FileInputStream(file);
+                values.load(is);
+            } catch (Exception e) {
+                LOG.warn("(!) Failure to load hitch cache {}", file, e);
+            } finally {
+                Files.close(is);
+            }
+        }
+    }
+
+    public static boolean isEnabled() {
+        return CACHE.file != null;
+    }
+
+    /**
+     * 获取便车类名（指纹不符时返回空）
+     * 
+     * @param path
+     * @return
+     */
+    public static List<String> getHitchNames(String path) {
+        return CACHE.get(path);
+    }
+
+    /**
+     * 设置便车类名（写入缓存文件）
+     * 
+     * @param path
+     * @param hitchNames
+     */
+    public static void setHitchNames(String path, List<String> hitchNames) {
+        CACHE.set(path, hitchNames);
+    }
+
+    List<String> get(String path) {
+        if (file == null) {
+            return null;
+        }
+        String hitches;
+        synchronized (values) {
+            hitches = values.getProperty(path + SUFFIX_HITCHES);
+            if (hitches == null || !values
+                    .getProperty(path + SUFFIX_FINGERPRINT, "")
+                    .equals(getFingerprint(path))) {
+                return null;
+            }
+        }
+        List<String> result = new ArrayList<String>();
+        if (hitches.length() > 0) {
+            result.addAll(Arrays.asList(hitches.split(SEPARATOR)));
+        }
+        return result;
+    }
+
+    void set(String path, List<String> hitchNames) {
+        if (file == null) {
+            return;
+        }
+        String fingerprint = getFingerprint(path);
+        if (fingerprint == null) {
+            return;
+        }
+        synchronized (values) {
+            values.setProperty(path + SUFFIX_FINGERPRINT, fingerprint);
+            values.setProperty(path + SUFFIX_HITCHES,
+                    Strings.empty(Strings.append(SEPARATOR,
+                            hitchNames.toArray(new String[0]))));
+            store();
+        }
+    }
+
+    /**
+     * 写入缓存文件（同目录唯一临时文件写入后原子替换，避免多进程互相覆盖）
+     */
+    private void store() {
+        File temp = null;
+        OutputStream os = null;
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            parent.mkdirs();
+            temp = File.createTempFile("." + file.getName() + "-", ".tmp",
+                    parent);
+            os = new FileOutputStream(temp);
+            values.store(os, "brick hitch cache");
+            os.close();
+            os = null;
+            try {
+                java.nio.file.Files.move(temp.toPath(), file.toPath(),
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                java.nio.file.Files.move(temp.toPath(), file.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+        } catch (Exception e) {
+            LOG.warn("(!) Failure to store hitch cache {}", file, e);
+        } finally {
+            Files.close(os);
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * 路径指纹（所在类路径条目的位置、大小及修改时间）
+     * 
+     * @param path
+     * @return 无法识别的条目时返回空
+     */
+    private String getFingerprint(String path) {
+        StringBuilder buffer = new StringBuilder(128);
+        Enumeration<URL> urls;
+        try {
+            urls = loader.getResources(path);
+        } catch (Exception e) {
+            return null;
+        }
+        File file;
+        while (urls.hasMoreElements()) {
+            file = getFile(urls.nextElement());
+            if (file == null) {
+                return null;
+            }
+            buffer.append(file.getPath()).append(SEPARATOR)
+                    .append(file.length()).append(SEPARATOR)
+                    .append(file.lastModified()).append(';');
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * 获取类路径条目（目录或JAR文件）
+     * 
+     * @param url
+     * @return
+     */
+    private static File getFile(URL url) {
+        String protocol = url.getProtocol();
+        String path = url.getPath();
+        try {
+            if ("jar".equalsIgnoreCase(protocol)) {
+                int index = path.indexOf("!/");
+                if (index == -1 || !path.startsWith("file:")) {
+                    return null;
+                }
+                path = path.substring(5, index);
+            } else if (!"file".equalsIgnoreCase(protocol)) {
+                return null;
+            }
+            return new File(URLDecoder.decode(path, "UTF-8"));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+package net.isger.util.hitch;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.isger.util.Helpers;
+import net.isger.util.Reflects;
+import net.isger.util.Strings;
+
+/**
+ * 便车索引（读取编译期生成的便车索引资源，免除运行时扫描）
+ *
+ * @author issing
+ *
+ */
+public class HitchIndex {
+
+    private static final Logger LOG;
+
+    /** 类路径条目索引（类加载器 - 条目根位置 - 索引，按需加载） */
+    private static final Map<ClassLoader, Map<String, Properties>> INDEXES;
+
+    static {
+        LOG = LoggerFactory.getLogger(HitchIndex.class);
+        INDEXES = Collections.synchronizedMap(
+                new WeakHashMap<ClassLoader, Map<String, Properties>>());
+    }
+
+    private HitchIndex() {
+    }
+
+    /**
+     * 获取便车类名（当前类加载器）
+     *
+     * @param path
+     * @return
+     */
+    public static List<String> getHitchNames(String path) {
+        return getHitchNames(Reflects.getClassLoader(), path);
+    }
+
+    /**
+     * 获取便车类名（路径所在类路径条目均已索引且便车类存在，否则返回空以回退扫描）
+     *
+     * @param loader
+     * @param path
+     * @return
+     */
+    public static List<String> getHitchNames(ClassLoader loader,
+            String path) {
+        if (loader == null) {
+            loader = Reflects.getClassLoader();
+        }
+        String key = path.replace('\\', '/').replaceAll("^/+|/+$", "");
+        List<URL> urls = getResources(loader, key);
+        if (urls.isEmpty()) {
+            return null;
+        }
+        List<String> result = new ArrayList<String>();
+        Properties index;
+        String hitches;
+        for (URL url : urls) {
+            index = getIndex(loader, getRoot(url, key));
+            if (index == null) {
+                return null;
+            }
+            hitches = index.getProperty(key);
+            if (Strings.isEmpty(hitches)) {
+                continue;
+            }
+            for (String name : hitches.split(HitchProcessor.SEPARATOR)) {
+                name = name.trim();
+                if (loader.getResource(
+                        name.replace('.', '/') + ".class") == null) {
+                    LOG.warn("(!) Stale hitch index for {}", name);
+                    return null;
+                } else if (result.contains(name)) {
+                    LOG.warn("(!) Multiple to hitching {}", name);
+                } else {
+                    result.add(name);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 清除索引缓存（类路径条目变更后重新加载）
+     */
+    public static void clear() {
+        INDEXES.clear();
+    }
+
+    /**
+     * 获取类路径条目索引（未索引时返回空）
+     *
+     * @param loader
+     * @param root
+     * @return
+     */
+    private static Properties getIndex(ClassLoader loader, String root) {
+        if (root == null) {
+            return null;
+        }
+        Map<String, Properties> indexes;
+        synchronized (INDEXES) {
+            indexes = INDEXES.get(loader);
+            if (indexes == null) {
+                INDEXES.put(loader, indexes = Collections
+                        .synchronizedMap(new HashMap<String, Properties>()));
+            }
+        }
+        Properties index = indexes.get(root);
+        if (index == null) {
+            index = new Properties();
+            try {
+                Helpers.load(index, false,
+                        new URL(root + HitchProcessor.INDEX_RESOURCE));
+            } catch (MalformedURLException e) {
+            }
+            indexes.put(root, index);
+        }
+        return index.isEmpty() ? null : index;
+    }
+
+    private static List<URL> getResources(ClassLoader loader, String name) {
+        List<URL> result = new ArrayList<URL>();
+        try {
+            Enumeration<URL> urls = loader.getResources(name);
+            while (urls.hasMoreElements()) {
+                result.add(urls.nextElement());
+            }
+        } catch (Exception e) {
+        }
+        return result;
+    }
+
+    /**
+     * 获取类路径条目根位置
+     *
+     * @param url
+     * @param key
+     * @return
+     */
+    private static String getRoot(URL url, String key) {
+        String name = url.toString();
+        if (!name.endsWith("/")) {
+            name += "/";
+        }
+        String suffix = key.length() == 0 ? "" : key + "/";
+        return name.endsWith(suffix)
+                ? name.substring(0, name.length() - suffix.length()) : null;
+    }
+
+}
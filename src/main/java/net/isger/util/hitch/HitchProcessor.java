@@ -0,0 +1,169 @@
+package net.isger.util.hitch;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import net.isger.util.Files;
+import net.isger.util.Strings;
+
+/**
+ * 便车索引处理器（编译期生成包路径便车类索引）
+ *
+ * <pre>
+ * javac -processor net.isger.util.hitch.HitchProcessor ...
+ * </pre>
+ *
+ * @author issing
+ *
+ */
+@SupportedAnnotationTypes("*")
+public class HitchProcessor extends AbstractProcessor {
+
+    /** 索引资源 */
+    public static final String INDEX_RESOURCE = "META-INF/brick/hitches.idx";
+
+    /** 便车类名分隔符 */
+    public static final String SEPARATOR = ",";
+
+    private static final String HITCH_SUFFIX = "Hitch";
+
+    /** 包路径便车（包路径 - 便车类名） */
+    private TreeMap<String, Set<String>> index;
+
+    /** 本次编译类名 */
+    private Set<String> types;
+
+    public HitchProcessor() {
+        index = new TreeMap<String, Set<String>>();
+        types = new HashSet<String>();
+    }
+
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    public boolean process(Set<? extends TypeElement> annotations,
+            RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            write();
+        } else {
+            for (TypeElement type : ElementFilter
+                    .typesIn(roundEnv.getRootElements())) {
+                makeIndex(type);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 生成便车索引（含内部类，同运行时扫描仅按类名后缀识别，不限类型种类）
+     *
+     * @param type
+     */
+    private void makeIndex(TypeElement type) {
+        for (TypeElement member : ElementFilter
+                .typesIn(type.getEnclosedElements())) {
+            makeIndex(member);
+        }
+        String name = processingEnv.getElementUtils().getBinaryName(type)
+                .toString();
+        types.add(name);
+        if (type.getSimpleName().toString().endsWith(HITCH_SUFFIX)) {
+            add(processingEnv.getElementUtils().getPackageOf(type)
+                    .getQualifiedName().toString().replace('.', '/'), name);
+        }
+    }
+
+    private void add(String path, String name) {
+        Set<String> hitchNames = index.get(path);
+        if (hitchNames == null) {
+            index.put(path, hitchNames = new TreeSet<String>());
+        }
+        hitchNames.add(name);
+    }
+
+    /**
+     * 输出索引（合并增量编译前的索引，剔除已失效便车）
+     */
+    private void write() {
+        Properties result = new Properties();
+        InputStream is = null;
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(
+                    StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            is = resource.openInputStream();
+            result.load(is);
+        } catch (Exception e) {
+        } finally {
+            Files.close(is);
+        }
+        if (index.isEmpty() && result.isEmpty()) {
+            return;
+        }
+        /* 保留未参与本次编译且类文件仍存在的旧便车 */
+        for (String path : result.stringPropertyNames()) {
+            for (String name : result.getProperty(path).split(SEPARATOR)) {
+                name = name.trim();
+                if (name.length() > 0 && !types.contains(name)
+                        && isExists(name)) {
+                    add(path, name);
+                }
+            }
+        }
+        result.clear();
+        for (String path : index.keySet()) {
+            result.setProperty(path, Strings.append(SEPARATOR,
+                    index.get(path).toArray(new String[0])));
+        }
+        OutputStream os = null;
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            os = resource.openOutputStream();
+            result.store(os, null);
+        } catch (Exception e) {
+            processingEnv.getMessager().printMessage(Kind.WARNING,
+                    "Failure to write " + INDEX_RESOURCE + ": " + e);
+        } finally {
+            Files.close(os);
+        }
+    }
+
+    /**
+     * 类文件是否存在（编译输出目录）
+     *
+     * @param name
+     * @return
+     */
+    private boolean isExists(String name) {
+        int index = name.lastIndexOf('.');
+        InputStream is = null;
+        try {
+            is = processingEnv.getFiler().getResource(
+                    StandardLocation.CLASS_OUTPUT,
+                    index == -1 ? "" : name.substring(0, index),
+                    name.substring(index + 1) + ".class").openInputStream();
+            return true;
+        } catch (Exception e) {
+            return false;
+        } finally {
+            Files.close(is);
+        }
+    }
+
+}
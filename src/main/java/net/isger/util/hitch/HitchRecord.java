@@ -0,0 +1,103 @@
+package net.isger.util.hitch;
+
+/**
+ * 搭载记录（扫描、绑定及各便车执行耗时）
+ * 
+ * @author issing
+ *
+ */
+public class HitchRecord {
+
+    private final String path;
+
+    private final long scanTime;
+
+    private final long bindTime;
+
+    private final String[] hitchNames;
+
+    private final long[] hitchTimes;
+
+    private final long hitchCount;
+
+    public HitchRecord(String path, long scanTime, long bindTime,
+            String[] hitchNames, long[] hitchTimes, long hitchCount) {
+        this.path = path;
+        this.scanTime = scanTime;
+        this.bindTime = bindTime;
+        this.hitchNames = hitchNames;
+        this.hitchTimes = hitchTimes;
+        this.hitchCount = hitchCount;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * 扫描耗时（纳秒）
+     * 
+     * @return
+     */
+    public long getScanTime() {
+        return scanTime;
+    }
+
+    /**
+     * 绑定耗时（纳秒，含类加载）
+     * 
+     * @return
+     */
+    public long getBindTime() {
+        return bindTime;
+    }
+
+    /**
+     * 便车数量
+     * 
+     * @return
+     */
+    public int getAmount() {
+        return hitchNames.length;
+    }
+
+    public String[] getHitchNames() {
+        return hitchNames.clone();
+    }
+
+    /**
+     * 便车累计执行耗时（纳秒，与便车类名一一对应）
+     * 
+     * @return
+     */
+    public long[] getHitchTimes() {
+        return hitchTimes.clone();
+    }
+
+    /**
+     * 搭载次数
+     * 
+     * @return
+     */
+    public long getHitchCount() {
+        return hitchCount;
+    }
+
+    public String toString() {
+        StringBuilder buffer = new StringBuilder(128);
+        buffer.append(path).append(": scan=").append(toMillis(scanTime))
+                .append("ms, bind=").append(toMillis(bindTime))
+                .append("ms, hitches=").append(hitchNames.length)
+                .append(", hitched=").append(hitchCount);
+        for (int i = 0; i < hitchNames.length; i++) {
+            buffer.append("\n  ").append(hitchNames[i]).append(": ")
+                    .append(toMillis(hitchTimes[i])).append("ms");
+        }
+        return buffer.toString();
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format("%.3f", nanos / 1000000.0);
+    }
+
+}
@@ -1,35 +1,53 @@
 package net.isger.util.hitch;
 
 import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import net.isger.brick.blue.ClassSeal;
-import net.isger.brick.blue.Marks.ACCESS;
-import net.isger.brick.blue.Marks.MISC;
-import net.isger.brick.blue.Marks.OPCODES;
-import net.isger.brick.blue.Marks.TYPE;
-import net.isger.brick.blue.Marks.VERSION;
-import net.isger.brick.blue.MethodSeal;
 import net.isger.util.Scans;
 import net.isger.util.scan.ScanFilter;
 
 public class Hitcher extends ClassLoader {
 
-    private static final String HITCH_STATION = "HitchStation";
-
     private static final String HITCH_METHOD = "hitch";
 
+    /** 便车方法类型（static void hitch(Object)） */
+    private static final MethodType HITCH_TYPE = MethodType
+            .methodType(Void.TYPE, Object.class);
+
     private static final String HITCH_SUFFIX = "Hitch.class";
 
     private static final Logger LOG;
 
     private static final ScanFilter FILTER;
 
-    private Class<?> station;
+    /** 便车方法（每个便车绑定一次，独立隔离异常） */
+    private MethodHandle[] handles = new MethodHandle[0];
+
+    /** 便车类名（与便车方法一一对应） */
+    private String[] hitchNames = new String[0];
+
+    private String path;
+
+    /** 扫描耗时（纳秒） */
+    private long scanTime;
 
-    private int amount;
+    /** 绑定耗时（纳秒） */
+    private long bindTime;
+
+    /** 便车累计执行耗时（纳秒） */
+    private AtomicLongArray hitchTimes = new AtomicLongArray(0);
+
+    /** 搭载次数 */
+    private AtomicLong hitchCount = new AtomicLong();
 
     static {
         LOG = LoggerFactory.getLogger(Hitcher.class);
@@ -52,57 +70,107 @@ public class Hitcher extends ClassLoader {
     }
 
     public Hitcher(String path) {
-        // public class HitchStation {
-        ClassSeal cs = ClassSeal.create(VERSION.V0104.value,
-                ACCESS.PUBLIC.value, HITCH_STATION, TYPE.OBJECT.name);
-        // public HitchStation() {}
-        MethodSeal ms = cs.makeMethod(ACCESS.PUBLIC.value, "void", "<init>");
-        ms.coding("this", "super()");
-        // public static boolean hitch(Object source) {
-        ms = cs.makeMethod(ACCESS.PUBLIC.value | ACCESS.STATIC.value,
-                TYPE.BOOLEAN.name, HITCH_METHOD, TYPE.OBJECT.name);
+        this.path = path;
+        long time = System.nanoTime();
+        /* 优先编译期索引，其次扫描缓存，最后运行时扫描 */
+        List<String> hitchNames = HitchIndex
+                .getHitchNames(this.getClass().getClassLoader(), path);
+        if (hitchNames == null) {
+            hitchNames = HitchCache.getHitchNames(path);
+        }
+        if (hitchNames == null) {
+            hitchNames = scan(path);
+            HitchCache.setHitchNames(path, hitchNames);
+        }
+        this.scanTime = System.nanoTime() - time;
+        int amount = hitchNames.size();
+        this.handles = new MethodHandle[amount];
+        this.hitchTimes = new AtomicLongArray(amount);
+        this.hitchNames = hitchNames.toArray(new String[amount]);
+        time = System.nanoTime();
+        for (int i = 0; i < amount; i++) {
+            handles[i] = bind(this.hitchNames[i]);
+        }
+        this.bindTime = System.nanoTime() - time;
+    }
+
+    /**
+     * 扫描便车
+     * 
+     * @param path
+     * @return
+     */
+    private List<String> scan(String path) {
+        List<String> hitchNames = new ArrayList<String>();
         String className = null;
-        String hitchOperate = null;
         for (String name : Scans.scan(path, FILTER)) {
             className = (path + name.replaceFirst("[.]class$", ""))
                     .replaceAll("[\\\\/]", ".");
-            hitchOperate = className + ".hitch(obj)";
-            if (ms.getOperateMark(hitchOperate) != null) {
+            if (hitchNames.contains(className)) {
                 LOG.warn("(!) Multiple to hitching {}", className);
             } else {
-                // TODO 搭载过程未做异常处理
-                ms.markOperate(hitchOperate, className,
-                        OPCODES.INVOKESTATIC.value, TYPE.VOID.name,
-                        HITCH_METHOD, TYPE.OBJECT.name);
-                ms.coding(null, hitchOperate, MISC.arg(0));
-                amount++;
+                hitchNames.add(className);
             }
         }
-        // return true;
-        ms.markConst("true", true);
-        ms.coding("return", null, "true");
-        // }
-        byte[] code = net.isger.brick.blue.Compiler.compile(cs);
+        return hitchNames;
+    }
+
+    /**
+     * 绑定便车方法（失败时返回空，搭载时跳过该便车）
+     * 
+     * @param className
+     * @return
+     */
+    private MethodHandle bind(String className) {
         try {
-            station = this.defineClass(HITCH_STATION, code, 0, code.length);
+            return MethodHandles.publicLookup().findStatic(
+                    loadClass(className), HITCH_METHOD, HITCH_TYPE);
         } catch (Throwable e) {
-            throw new IllegalStateException(
-                    "Failure create hitch station for " + path, e);
+            LOG.warn("Failure to bind hitch method for {}", className, e);
+            return null;
         }
     }
 
+    /**
+     * 搭载（各便车异常隔离，任一绑定或执行失败时返回假）
+     * 
+     * @param source
+     * @return
+     */
     public boolean hitch(Object source) {
-        boolean isHitch = amount == 0;
-        if (!isHitch) {
+        boolean isHitch = true;
+        long time;
+        for (int i = 0; i < handles.length; i++) {
+            if (handles[i] == null) {
+                isHitch = false;
+                continue;
+            }
+            time = System.nanoTime();
             try {
-                isHitch = (Boolean) station
-                        .getMethod(HITCH_METHOD, Object.class)
-                        .invoke(station, source);
-            } catch (Exception e) {
-                LOG.warn("Failure to hitch resource", e);
+                handles[i].invokeExact(source);
+            } catch (Throwable e) {
+                LOG.warn("Failure to hitch {}", hitchNames[i], e);
                 isHitch = false;
+            } finally {
+                hitchTimes.addAndGet(i, System.nanoTime() - time);
             }
         }
+        hitchCount.incrementAndGet();
         return isHitch;
     }
+
+    /**
+     * 获取搭载记录
+     * 
+     * @return
+     */
+    public HitchRecord getRecord() {
+        int amount = hitchTimes.length();
+        long[] times = new long[amount];
+        for (int i = 0; i < amount; i++) {
+            times[i] = hitchTimes.get(i);
+        }
+        return new HitchRecord(path, scanTime, bindTime,
+                hitchNames.clone(), times, hitchCount.get());
+    }
 }
@@ -0,0 +1,111 @@
+package net.isger.util.reflect;
+
+import net.isger.util.Sqls;
+import net.isger.util.Strings;
+
+/**
+ * 实例提取器（按绑定计划顺序读取字段值）
+ *
+ * @author issing
+ *
+ */
+public class BeanExtractor {
+
+    /** 绑定键（含别名） */
+    private String[] names;
+
+    /** 绑定字段（与绑定键一一对应） */
+    private BoundField[] fields;
+
+    /** 共享字段首次出现位置（无共享为-1） */
+    private int[] shares;
+
+    /** 列名（延迟生成） */
+    private volatile String[] columns;
+
+    BeanExtractor(BindingPlan plan) {
+        int size = plan.size();
+        this.names = new String[size];
+        this.fields = new BoundField[size];
+        this.shares = new int[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = plan.getName(i);
+            fields[i] = plan.getField(i);
+            shares[i] = -1;
+            for (int j = 0; j < i; j++) {
+                if (fields[j] == fields[i]) {
+                    shares[i] = j;
+                    break;
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * 获取绑定键（共享数组，不可修改）
+     *
+     * @return
+     */
+    public String[] getNames() {
+        return names;
+    }
+
+    /**
+     * 获取列名（共享数组，不可修改）
+     *
+     * @return
+     */
+    public String[] getColumns() {
+        String[] columns = this.columns;
+        if (columns == null) {
+            columns = new String[names.length];
+            for (int i = 0; i < names.length; i++) {
+                columns[i] = Strings.empty(fields[i].getAlias(),
+                        Sqls.toColumnName(fields[i].getName()));
+            }
+            this.columns = columns;
+        }
+        return columns;
+    }
+
+    /**
+     * 获取字段值
+     *
+     * @param bean
+     * @param index
+     * @return
+     */
+    public Object getValue(Object bean, int index) {
+        return fields[index].getValue(bean);
+    }
+
+    /**
+     * 提取字段值
+     *
+     * @param bean
+     * @return
+     */
+    public Object[] extract(Object bean) {
+        return extract(bean, new Object[names.length]);
+    }
+
+    /**
+     * 提取字段值（复用数组）
+     *
+     * @param bean
+     * @param values
+     * @return
+     */
+    public Object[] extract(Object bean, Object[] values) {
+        for (int i = 0; i < names.length; i++) {
+            values[i] = shares[i] == -1 ? fields[i].getValue(bean)
+                    : values[shares[i]];
+        }
+        return values;
+    }
+
+}
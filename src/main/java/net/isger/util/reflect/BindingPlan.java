@@ -0,0 +1,228 @@
+package net.isger.util.reflect;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.isger.util.Callable;
+import net.isger.util.Helpers;
+import net.isger.util.Reflects;
+
+/**
+ * 绑定计划（按类预编译字段填充顺序、别名及注入标记）
+ *
+ * @author issing
+ *
+ */
+public class BindingPlan {
+
+    /** 行映射缓存上限 */
+    private static final int MAX_MAPPERS = 64;
+
+    private Class<?> rawClass;
+
+    /** 绑定键（含别名，按字段声明顺序） */
+    private String[] names;
+
+    /** 绑定字段（与绑定键一一对应） */
+    private BoundField[] fields;
+
+    /** 绑定键索引 */
+    private Map<String, Integer> indexes;
+
+    /** 存在多键共享字段（需按计划顺序填充） */
+    private boolean ordered;
+
+    /** 存在感染字段 */
+    private boolean infected;
+
+    /** 行映射缓存（按列名） */
+    private Map<List<String>, RowMapper<?>> mappers;
+
+    /** 实例提取器（延迟生成） */
+    private volatile BeanExtractor extractor;
+
+    public BindingPlan(Class<?> rawClass,
+            Map<String, List<BoundField>> boundFields) {
+        this.rawClass = rawClass;
+        int size = boundFields.size();
+        this.names = new String[size];
+        this.fields = new BoundField[size];
+        this.indexes = new HashMap<String, Integer>(size * 4 / 3 + 1);
+        Map<BoundField, Object> distinct = new IdentityHashMap<BoundField, Object>();
+        int index = 0;
+        BoundField field;
+        for (Entry<String, List<BoundField>> entry : boundFields.entrySet()) {
+            field = entry.getValue().get(0);
+            names[index] = entry.getKey();
+            fields[index] = field;
+            indexes.put(entry.getKey(), index++);
+            distinct.put(field, this);
+            infected |= field.isInfect();
+        }
+        this.ordered = distinct.size() != size;
+        this.mappers = new ConcurrentHashMap<List<String>, RowMapper<?>>();
+    }
+
+    public Class<?> getRawClass() {
+        return rawClass;
+    }
+
+    /**
+     * 获取绑定字段
+     *
+     * @param name
+     * @return
+     */
+    public BoundField getField(String name) {
+        Integer index = indexes.get(name);
+        return index == null ? null : fields[index];
+    }
+
+    /**
+     * 获取绑定键位置
+     *
+     * @param name
+     * @return
+     */
+    public int indexOf(String name) {
+        Integer index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 获取绑定字段
+     *
+     * @param index
+     * @return
+     */
+    public BoundField getField(int index) {
+        return fields[index];
+    }
+
+    /**
+     * 获取绑定键
+     *
+     * @param index
+     * @return
+     */
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * 获取实例提取器
+     *
+     * @return
+     */
+    public BeanExtractor getExtractor() {
+        BeanExtractor extractor = this.extractor;
+        if (extractor == null) {
+            this.extractor = extractor = new BeanExtractor(this);
+        }
+        return extractor;
+    }
+
+    /**
+     * 获取行映射（不支持层级列时返回空）
+     *
+     * @param columns
+     * @return
+     */
+    public RowMapper<?> getMapper(Object[] columns) {
+        int size = columns.length;
+        String[] names = new String[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = String.valueOf(columns[i]);
+            if (names[i].indexOf('.') != -1) {
+                return null;
+            }
+        }
+        List<String> key = Arrays.asList(names);
+        RowMapper<?> mapper = mappers.get(key);
+        if (mapper == null) {
+            mapper = new RowMapper<Object>(this, names);
+            if (mappers.size() < MAX_MAPPERS) {
+                mappers.put(key, mapper);
+            }
+        }
+        return mapper;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * 填充实例（层级化参数）
+     *
+     * @param instance
+     * @param values
+     * @param assembler
+     * @return
+     */
+    public <T> T bind(T instance, Map<String, Object> values,
+            Callable<?> assembler) {
+        /* 仅遍历存在的键 */
+        if (!ordered && (assembler == null || !infected)) {
+            Callable<?> fieldAssembler = assembler == null ? null
+                    : new Assembler(assembler, values);
+            Integer index;
+            for (Entry<String, Object> entry : values.entrySet()) {
+                index = indexes.get(entry.getKey());
+                if (index != null) {
+                    fields[index].setValue(instance, entry.getValue(),
+                            fieldAssembler);
+                }
+            }
+            return instance;
+        }
+        /* 按计划顺序填充（感染字段缺省时同样回调） */
+        Callable<?> fieldAssembler = assembler == null ? null
+                : new Assembler(assembler, values);
+        BoundField field;
+        Object value;
+        for (int i = 0; i < names.length; i++) {
+            field = fields[i];
+            value = values.get(names[i]);
+            if (value != null) {
+                field.setValue(instance, value, fieldAssembler);
+            } else if (fieldAssembler != null && field.isInfect()) {
+                field.setValue(instance, Reflects.UNKNOWN, fieldAssembler);
+            }
+        }
+        return instance;
+    }
+
+    public String toString() {
+        return "plan of " + Reflects.getName(rawClass);
+    }
+
+    /**
+     * 字段装配器（附加层级化参数）
+     *
+     * @author issing
+     *
+     */
+    private static class Assembler extends Callable<Object> {
+
+        private Callable<?> assembler;
+
+        private Map<String, Object> values;
+
+        public Assembler(Callable<?> assembler, Map<String, Object> values) {
+            this.assembler = assembler;
+            this.values = values;
+        }
+
+        public Object call(Object... args) {
+            return assembler.call((Object[]) Helpers.newArray(args, values));
+        }
+
+    }
+
+}
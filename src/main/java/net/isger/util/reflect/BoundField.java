@@ -1,5 +1,8 @@
 package net.isger.util.reflect;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
@@ -12,6 +15,7 @@ import javax.inject.Inject;
 
 import net.isger.util.Asserts;
 import net.isger.util.Callable;
+import net.isger.util.Helpers;
 import net.isger.util.Reflects;
 import net.isger.util.Strings;
 import net.isger.util.anno.Affix;
@@ -20,6 +24,26 @@ import net.isger.util.anno.Infect;
 
 public class BoundField {
 
+    /** 存取器模式配置键 */
+    private static final String KEY_ACCESSOR = "brick.util.reflect.accessor";
+
+    /** 读取句柄类型 */
+    private static final MethodType TYPE_GETTER;
+
+    /** 写入句柄类型 */
+    private static final MethodType TYPE_SETTER;
+
+    /** 启用句柄存取 */
+    private static final boolean ACCESSOR;
+
+    static {
+        TYPE_GETTER = MethodType.methodType(Object.class, Object.class);
+        TYPE_SETTER = MethodType.methodType(Void.TYPE, Object.class,
+                Object.class);
+        ACCESSOR = !"false".equalsIgnoreCase(
+                Helpers.getProperty(KEY_ACCESSOR, "true").trim());
+    }
+
     private TypeToken<?> token;
 
     private Field field;
@@ -34,23 +58,70 @@ public class BoundField {
 
     private boolean infect;
 
+    /** 读取句柄 */
+    private MethodHandle getter;
+
+    /** 写入句柄 */
+    private MethodHandle setter;
+
     public BoundField(Field field) {
+        this(field, null, null, field.getAnnotation(Inject.class) != null,
+                field.getAnnotation(Infect.class) != null);
+        Alias alias = field.getAnnotation(Alias.class);
+        if (alias != null) {
+            this.alias = Strings.empty(alias.value());
+        }
+        Affix affix = field.getAnnotation(Affix.class);
+        if (affix != null) {
+            this.affix = Strings.empty(affix.value());
+        }
+    }
+
+    /**
+     * 绑定字段（注解信息由元数据索引提供）
+     * 
+     * @param field
+     * @param alias
+     * @param affix
+     * @param inject
+     * @param infect
+     */
+    public BoundField(Field field, String alias, String affix, boolean inject,
+            boolean infect) {
         TypeToken<?> declaring = TypeToken.get(field.getDeclaringClass());
         this.token = TypeToken.get(Reflects.getResolveType(declaring.getType(),
                 declaring.getRawClass(), field.getGenericType()));
         this.field = field;
         this.field.setAccessible(true);
         this.name = field.getName();
-        Alias alias = field.getAnnotation(Alias.class);
         if (alias != null) {
-            this.alias = Strings.empty(alias.value());
+            this.alias = Strings.empty(alias);
         }
-        Affix affix = field.getAnnotation(Affix.class);
         if (affix != null) {
-            this.affix = Strings.empty(affix.value());
+            this.affix = Strings.empty(affix);
+        }
+        this.inject = inject;
+        this.infect = infect;
+        if (ACCESSOR) {
+            makeAccessor();
+        }
+    }
+
+    /**
+     * 生成存取句柄（不可访问成员回退反射）
+     */
+    private void makeAccessor() {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            this.getter = lookup.unreflectGetter(field).asType(TYPE_GETTER);
+        } catch (Throwable e) {
+            this.getter = null;
+        }
+        try {
+            this.setter = lookup.unreflectSetter(field).asType(TYPE_SETTER);
+        } catch (Throwable e) {
+            this.setter = null;
         }
-        this.inject = field.getAnnotation(Inject.class) != null;
-        this.infect = field.getAnnotation(Infect.class) != null;
     }
 
     public TypeToken<?> getToken() {
@@ -99,7 +170,11 @@ public class BoundField {
                     value = resolve(token.getRawClass(), token.getType(),
                             value);
                 }
-                field.set(instance, value);
+                if (setter == null) {
+                    field.set(instance, value);
+                } else {
+                    setter.invokeExact(instance, value);
+                }
             }
         } catch (Throwable e) {
             throw Asserts.state("Failure to setting field '%s' of %s: %s",
@@ -139,8 +214,13 @@ public class BoundField {
 
     public Object getValue(Object instance) {
         try {
-            return field.get(instance);
-        } catch (IllegalAccessException e) {
+            if (getter == null) {
+                return field.get(instance);
+            }
+            return (Object) getter.invokeExact(instance);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
             throw Asserts.state("Can not to access field %s", getName(), e);
         }
     }
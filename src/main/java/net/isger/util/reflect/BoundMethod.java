@@ -1,6 +1,10 @@
 package net.isger.util.reflect;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 import net.isger.brick.blue.Marks.TYPE;
 import net.isger.util.Reflects;
@@ -10,6 +14,9 @@ import net.isger.util.anno.Alias;
 
 public class BoundMethod {
 
+    /** 特化调用最大参数个数 */
+    private static final int MAX_ARITY = 4;
+
     private Method method;
 
     private String name;
@@ -20,6 +27,15 @@ public class BoundMethod {
 
     private String affix;
 
+    /** 参数个数 */
+    private int arity;
+
+    /** 调用句柄（延迟生成） */
+    private volatile MethodHandle invoker;
+
+    /** 句柄不可用（回退反射） */
+    private volatile boolean reflective;
+
     public BoundMethod(Method method) {
         this.method = method;
         this.method.setAccessible(true);
@@ -33,6 +49,7 @@ public class BoundMethod {
         if (affix != null) {
             this.affix = Strings.empty(affix.value());
         }
+        this.arity = method.getParameterTypes().length;
     }
 
     public Method getMethod() {
@@ -60,6 +77,51 @@ public class BoundMethod {
     }
 
     public Object invoke(Object instance, Object... args) {
+        MethodHandle invoker = getInvoker();
+        if (invoker == null) {
+            return invokeReflect(instance, args);
+        }
+        if (args == null) {
+            args = new Object[0];
+        }
+        if (args.length != arity) {
+            throw new IllegalArgumentException("Wrong number of arguments ("
+                    + args.length + ") to invoke method " + getName());
+        }
+        try {
+            switch (arity) {
+            case 0:
+                return (Object) invoker.invokeExact(instance);
+            case 1:
+                return (Object) invoker.invokeExact(instance, args[0]);
+            case 2:
+                return (Object) invoker.invokeExact(instance, args[0],
+                        args[1]);
+            case 3:
+                return (Object) invoker.invokeExact(instance, args[0],
+                        args[1], args[2]);
+            case 4:
+                return (Object) invoker.invokeExact(instance, args[0],
+                        args[1], args[2], args[3]);
+            default:
+                return (Object) invoker.invokeExact(instance, args);
+            }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failure to invoke method "
+                    + getName(), e);
+        }
+    }
+
+    /**
+     * 反射调用
+     * 
+     * @param instance
+     * @param args
+     * @return
+     */
+    private Object invokeReflect(Object instance, Object... args) {
         try {
             return method.invoke(instance, args);
         } catch (RuntimeException e) {
@@ -74,6 +136,42 @@ public class BoundMethod {
         }
     }
 
+    /**
+     * 获取调用句柄
+     * 
+     * @return
+     */
+    private MethodHandle getInvoker() {
+        MethodHandle invoker = this.invoker;
+        if (invoker == null && !reflective) {
+            try {
+                this.invoker = invoker = makeInvoker();
+            } catch (Throwable e) {
+                reflective = true;
+            }
+        }
+        return invoker;
+    }
+
+    /**
+     * 生成调用句柄（按参数个数特化，超出部分以数组展开）
+     * 
+     * @return
+     * @throws IllegalAccessException
+     */
+    private MethodHandle makeInvoker() throws IllegalAccessException {
+        MethodHandle handle = MethodHandles.lookup().unreflect(method)
+                .asFixedArity();
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        handle = handle.asType(MethodType.genericMethodType(arity + 1));
+        if (arity > MAX_ARITY) {
+            handle = handle.asSpreader(Object[].class, arity);
+        }
+        return handle;
+    }
+
     public static String makeMethodDesc(Method method) {
         return makeMethodDesc(method.getName(), method.getReturnType(),
                 method.getParameterTypes());
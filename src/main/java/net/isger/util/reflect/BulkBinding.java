@@ -0,0 +1,265 @@
+package net.isger.util.reflect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import net.isger.util.Callable;
+import net.isger.util.Helpers;
+import net.isger.util.Reflects;
+
+/**
+ * 批量绑定（超过阈值时分块并行，结果保持原有顺序）
+ *
+ * @author issing
+ *
+ */
+public class BulkBinding {
+
+    /** 并行阈值配置键 */
+    private static final String KEY_THRESHOLD = "brick.util.reflect.bulk.threshold";
+
+    /** 分块大小配置键 */
+    private static final String KEY_CHUNK = "brick.util.reflect.bulk.chunk";
+
+    /** 并行阈值（行数） */
+    public static final int THRESHOLD;
+
+    /** 分块大小（行数） */
+    public static final int CHUNK;
+
+    static {
+        THRESHOLD = Helpers.toInt(Helpers.getProperty(KEY_THRESHOLD, "10000"),
+                10000);
+        CHUNK = Math.max(1,
+                Helpers.toInt(Helpers.getProperty(KEY_CHUNK, "1024"), 1024));
+    }
+
+    private BulkBinding() {
+    }
+
+    /**
+     * 是否并行
+     *
+     * @param size
+     * @return
+     */
+    public static boolean isParallel(int size) {
+        return size >= THRESHOLD
+                && Runtime.getRuntime().availableProcessors() > 1;
+    }
+
+    /**
+     * 网格模型转换为实例集合
+     *
+     * @param clazz
+     * @param columns
+     * @param rows
+     * @param assembler
+     * @param chunk
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> toList(Class<T> clazz, Object[] columns,
+            Object[][] rows, Callable<?> assembler, int chunk) {
+        Object[] results = new Object[rows.length];
+        RowMapper<T> mapper = assembler == null
+                ? Reflects.getRowMapper(clazz, columns) : null;
+        Pool.POOL.invoke(new GridTask(clazz, columns, rows, mapper,
+                assembler == null ? null : new Synchronized(assembler),
+                results, 0, rows.length, Math.max(1, chunk)));
+        return (List<T>) new ArrayList<Object>(Arrays.asList(results));
+    }
+
+    /**
+     * 键值对集合转换为实例集合（拦截器按原有顺序串行回调）
+     *
+     * @param clazz
+     * @param values
+     * @param interceptor
+     * @param chunk
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> toList(Class<T> clazz,
+            List<Map<String, Object>> values, Callable<T> interceptor,
+            int chunk) {
+        int size = values.size();
+        Object[] instances = new Object[size];
+        Pool.POOL.invoke(new MapTask(clazz, values.toArray(), instances, 0,
+                size, Math.max(1, chunk)));
+        List<T> result = new ArrayList<T>(size);
+        T instance;
+        for (int step = 0; step < size; step++) {
+            instance = interceptor.call(step, instances[step], result);
+            if (instance != null) {
+                result.add(instance);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 并行池（延迟创建）
+     *
+     * @author issing
+     *
+     */
+    private static class Pool {
+
+        private static final ForkJoinPool POOL = new ForkJoinPool();
+
+    }
+
+    /**
+     * 串行装配器（装配器未必线程安全）
+     *
+     * @author issing
+     *
+     */
+    private static class Synchronized extends Callable<Object> {
+
+        private Callable<?> assembler;
+
+        public Synchronized(Callable<?> assembler) {
+            this.assembler = assembler;
+        }
+
+        public Object call(Object... args) {
+            synchronized (this) {
+                return assembler.call(args);
+            }
+        }
+
+    }
+
+    /**
+     * 分块绑定任务（工作线程沿用调用方上下文类加载器）
+     *
+     * @author issing
+     *
+     */
+    @SuppressWarnings("serial")
+    private static abstract class BindTask extends RecursiveAction {
+
+        protected final Object[] results;
+
+        protected final int from;
+
+        protected final int to;
+
+        protected final int chunk;
+
+        /** 调用方上下文类加载器（子任务在已切换的工作线程中创建） */
+        private final ClassLoader loader;
+
+        protected BindTask(Object[] results, int from, int to, int chunk) {
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.loader = Thread.currentThread().getContextClassLoader();
+        }
+
+        protected void compute() {
+            Thread thread = Thread.currentThread();
+            ClassLoader original = thread.getContextClassLoader();
+            thread.setContextClassLoader(loader);
+            try {
+                if (to - from <= chunk) {
+                    for (int i = from; i < to; i++) {
+                        results[i] = bind(i);
+                    }
+                    return;
+                }
+                int middle = (from + to) >>> 1;
+                invokeAll(fork(from, middle), fork(middle, to));
+            } finally {
+                thread.setContextClassLoader(original);
+            }
+        }
+
+        protected abstract Object bind(int index);
+
+        protected abstract BindTask fork(int from, int to);
+
+    }
+
+    /**
+     * 网格绑定任务
+     *
+     * @author issing
+     *
+     */
+    @SuppressWarnings("serial")
+    private static class GridTask extends BindTask {
+
+        private final Class<?> clazz;
+
+        private final Object[] columns;
+
+        private final Object[][] rows;
+
+        private final RowMapper<?> mapper;
+
+        private final Callable<?> assembler;
+
+        public GridTask(Class<?> clazz, Object[] columns, Object[][] rows,
+                RowMapper<?> mapper, Callable<?> assembler, Object[] results,
+                int from, int to, int chunk) {
+            super(results, from, to, chunk);
+            this.clazz = clazz;
+            this.columns = columns;
+            this.rows = rows;
+            this.mapper = mapper;
+            this.assembler = assembler;
+        }
+
+        protected Object bind(int index) {
+            return mapper != null ? mapper.map(rows[index])
+                    : Reflects.toBean(clazz, columns, rows[index], assembler);
+        }
+
+        protected BindTask fork(int from, int to) {
+            return new GridTask(clazz, columns, rows, mapper, assembler,
+                    results, from, to, chunk);
+        }
+
+    }
+
+    /**
+     * 键值对绑定任务
+     *
+     * @author issing
+     *
+     */
+    @SuppressWarnings("serial")
+    private static class MapTask extends BindTask {
+
+        private final Class<?> clazz;
+
+        private final Object[] values;
+
+        public MapTask(Class<?> clazz, Object[] values, Object[] results,
+                int from, int to, int chunk) {
+            super(results, from, to, chunk);
+            this.clazz = clazz;
+            this.values = values;
+        }
+
+        @SuppressWarnings("unchecked")
+        protected Object bind(int index) {
+            return Reflects.newInstance(clazz,
+                    (Map<String, Object>) values[index]);
+        }
+
+        protected BindTask fork(int from, int to) {
+            return new MapTask(clazz, values, results, from, to, chunk);
+        }
+
+    }
+
+}
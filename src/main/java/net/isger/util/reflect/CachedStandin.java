@@ -0,0 +1,288 @@
+package net.isger.util.reflect;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.isger.util.anno.Memoize;
+
+/**
+ * 缓存替身（按方法及参数缓存结果，并发相同调用合并执行）
+ * 
+ * <pre>
+ * 缓存方法默认为标注 Memoize 的方法，可重写 isCacheable 过滤
+ * </pre>
+ * 
+ * @author issing
+ *
+ * @param <T>
+ */
+public abstract class CachedStandin<T> extends Standin<T> {
+
+    /** 容量上限（非正数不限） */
+    private final int capacity;
+
+    /** 存活时长（纳秒，非正数不过期） */
+    private final long ttl;
+
+    /** 结果缓存（最久未用淘汰） */
+    private final Map<Key, Result> results;
+
+    /** 执行中调用 */
+    private final ConcurrentHashMap<Key, FutureTask<Object>> calls;
+
+    /** 可缓存方法 */
+    private final Map<Method, Boolean> cacheables;
+
+    private final AtomicLong hits;
+
+    private final AtomicLong misses;
+
+    private final AtomicLong evictions;
+
+    /** 下次清理过期结果时刻（纳秒） */
+    private long sweepTime;
+
+    public CachedStandin(Class<T> clazz, int capacity) {
+        this(clazz, capacity, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 缓存替身
+     * 
+     * @param clazz
+     * @param capacity
+     *            容量上限（非正数不限）
+     * @param ttl
+     *            存活时长（非正数不过期）
+     * @param unit
+     */
+    @SuppressWarnings("serial")
+    public CachedStandin(Class<T> clazz, final int capacity, long ttl,
+            TimeUnit unit) {
+        super(clazz);
+        this.capacity = capacity;
+        this.ttl = unit.toNanos(ttl);
+        this.results = new LinkedHashMap<Key, Result>(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<Key, Result> eldest) {
+                if (capacity > 0 && size() > capacity) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.calls = new ConcurrentHashMap<Key, FutureTask<Object>>();
+        this.cacheables = new ConcurrentHashMap<Method, Boolean>();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.evictions = new AtomicLong();
+        this.sweepTime = System.nanoTime() + this.ttl;
+    }
+
+    public final Object action(final Method method, final Object[] args) {
+        Boolean cacheable = cacheables.get(method);
+        if (cacheable == null) {
+            cacheables.put(method, cacheable = isCacheable(method));
+        }
+        if (!cacheable) {
+            return perform(method, args);
+        }
+        Key key = new Key(method, args);
+        Result result;
+        synchronized (results) {
+            result = results.get(key);
+            if (result != null && result.isExpired()) {
+                results.remove(key);
+                evictions.incrementAndGet();
+                result = null;
+            }
+        }
+        if (result != null) {
+            hits.incrementAndGet();
+            return result.value;
+        }
+        misses.incrementAndGet();
+        /* 合并并发相同调用 */
+        FutureTask<Object> call = new FutureTask<Object>(
+                new java.util.concurrent.Callable<Object>() {
+                    public Object call() throws Exception {
+                        return perform(method, args);
+                    }
+                });
+        FutureTask<Object> current = calls.putIfAbsent(key, call);
+        if (current == null) {
+            current = call;
+            try {
+                call.run();
+                Object value = call.get();
+                synchronized (results) {
+                    sweep();
+                    results.put(key, new Result(value,
+                            ttl > 0 ? System.nanoTime() + ttl : 0));
+                }
+            } catch (ExecutionException e) {
+                /* 异常结果不缓存，由下方统一抛出 */
+            } catch (InterruptedException e) {
+                /* 任务已执行完毕，不会阻塞等待 */
+                Thread.currentThread().interrupt();
+            } finally {
+                calls.remove(key, call);
+            }
+        }
+        try {
+            return current.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(
+                    "Failure to invoke method " + method.getName(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted to invoke method " + method.getName(), e);
+        }
+    }
+
+    /**
+     * 清理过期结果（每个存活时长至多清理一次，计入淘汰）
+     */
+    private void sweep() {
+        if (ttl <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - sweepTime < 0) {
+            return;
+        }
+        sweepTime = now + ttl;
+        Iterator<Result> values = results.values().iterator();
+        while (values.hasNext()) {
+            if (values.next().isExpired()) {
+                values.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 可缓存方法（默认标注 Memoize）
+     * 
+     * @param method
+     * @return
+     */
+    protected boolean isCacheable(Method method) {
+        return method.isAnnotationPresent(Memoize.class);
+    }
+
+    /**
+     * 执行调用
+     * 
+     * @param method
+     * @param args
+     * @return
+     */
+    protected abstract Object perform(Method method, Object[] args);
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        synchronized (results) {
+            results.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * 缓存键（方法及参数）
+     * 
+     * @author issing
+     *
+     */
+    private static class Key {
+
+        private final Method method;
+
+        private final Object[] args;
+
+        private final int hash;
+
+        public Key(Method method, Object[] args) {
+            this.method = method;
+            this.args = args == null ? new Object[0] : args;
+            this.hash = method.hashCode() * 31 + Arrays.deepHashCode(this.args);
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) obj;
+            return hash == key.hash && method.equals(key.method)
+                    && Arrays.deepEquals(args, key.args);
+        }
+
+    }
+
+    /**
+     * 缓存结果
+     * 
+     * @author issing
+     *
+     */
+    private static class Result {
+
+        private final Object value;
+
+        /** 过期时刻（纳秒，0 为不过期） */
+        private final long expires;
+
+        public Result(Object value, long expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+
+        public boolean isExpired() {
+            return expires != 0 && System.nanoTime() - expires > 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,239 @@
+package net.isger.util.reflect;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.isger.util.Helpers;
+
+/**
+ * 类元数据缓存（随类加载器回收，可选容量上限）
+ *
+ * @author issing
+ *
+ * @param <V>
+ */
+public class ClassCache<V> {
+
+    /** 元数据缓存容量配置键 */
+    public static final String KEY_CAPACITY = "brick.util.reflect.cache.capacity";
+
+    private String name;
+
+    /** 容量上限（非正数不限） */
+    private int capacity;
+
+    /** 缓存存储（清空时整体替换，原有条目随旧存储回收） */
+    private volatile ClassValue<Entry<V>> store;
+
+    /** 访问顺序（仅限容量时启用） */
+    private Map<Reference<?>, Boolean> order;
+
+    private ReferenceQueue<Class<?>> queue;
+
+    private AtomicLong hits;
+
+    private AtomicLong misses;
+
+    private AtomicLong evictions;
+
+    public ClassCache(String name) {
+        this(name, 0);
+    }
+
+    public ClassCache(String name, int capacity) {
+        this.name = name;
+        this.capacity = capacity;
+        if (capacity > 0) {
+            this.order = new LinkedHashMap<Reference<?>, Boolean>(16, 0.75f,
+                    true);
+            this.queue = new ReferenceQueue<Class<?>>();
+        }
+        this.store = makeStore();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.evictions = new AtomicLong();
+    }
+
+    /**
+     * 默认容量（按配置，非正数不限）
+     *
+     * @return
+     */
+    public static int getDefaultCapacity() {
+        return Helpers.toInt(Helpers.getProperty(KEY_CAPACITY, "0"), 0);
+    }
+
+    private ClassValue<Entry<V>> makeStore() {
+        return new ClassValue<Entry<V>>() {
+            protected Entry<V> computeValue(Class<?> type) {
+                return new Entry<V>(type, queue);
+            }
+        };
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 获取缓存
+     *
+     * @param clazz
+     * @return
+     */
+    public V get(Class<?> clazz) {
+        Entry<V> entry = store.get(clazz);
+        V value = entry.value;
+        if (value == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+            if (order != null) {
+                synchronized (order) {
+                    order.get(entry.key);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 设置缓存
+     *
+     * @param clazz
+     * @param value
+     * @return
+     */
+    public V put(Class<?> clazz, V value) {
+        Entry<V> entry = store.get(clazz);
+        entry.value = value;
+        if (order != null) {
+            synchronized (order) {
+                expunge();
+                order.put(entry.key, Boolean.TRUE);
+                while (order.size() > capacity) {
+                    evict(order.keySet().iterator());
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 移除缓存
+     *
+     * @param clazz
+     */
+    public void remove(Class<?> clazz) {
+        Entry<V> entry = store.get(clazz);
+        entry.value = null;
+        if (order != null) {
+            synchronized (order) {
+                order.remove(entry.key);
+            }
+        }
+        store.remove(clazz);
+    }
+
+    /**
+     * 清空缓存（保留命中统计）
+     */
+    public void clear() {
+        if (order == null) {
+            store = makeStore();
+            return;
+        }
+        synchronized (order) {
+            store = makeStore();
+            order.clear();
+            expunge();
+        }
+    }
+
+    /**
+     * 淘汰最久未用
+     *
+     * @param keys
+     */
+    private void evict(Iterator<Reference<?>> keys) {
+        Reference<?> key = keys.next();
+        keys.remove();
+        Class<?> clazz = (Class<?>) key.get();
+        if (clazz != null) {
+            store.get(clazz).value = null;
+            store.remove(clazz);
+        }
+        evictions.incrementAndGet();
+    }
+
+    /**
+     * 清理已卸载类
+     */
+    private void expunge() {
+        Reference<?> key;
+        while ((key = queue.poll()) != null) {
+            order.remove(key);
+        }
+    }
+
+    /**
+     * 缓存数量（仅限容量时可统计）
+     *
+     * @return
+     */
+    public int size() {
+        if (order == null) {
+            return -1;
+        }
+        synchronized (order) {
+            expunge();
+            return order.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public String toString() {
+        return name + "[hits=" + getHits() + ", misses=" + getMisses()
+                + ", evictions=" + getEvictions() + ", size=" + size() + "]";
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @author issing
+     *
+     * @param <V>
+     */
+    private static class Entry<V> {
+
+        private final Reference<Class<?>> key;
+
+        private volatile V value;
+
+        public Entry(Class<?> type, ReferenceQueue<Class<?>> queue) {
+            this.key = new WeakReference<Class<?>>(type, queue);
+        }
+
+    }
+
+}
@@ -1,6 +1,11 @@
 package net.isger.util.reflect;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -20,6 +25,12 @@ public class Constructor {
 
     private Map<String, Construction> constructions;
 
+    /** 工厂版本（注册构造后递增，失效工厂缓存） */
+    private volatile int version;
+
+    /** 工厂缓存 */
+    private ClassCache<Factory> factories;
+
     static {
         LOG = LoggerFactory.getLogger(Constructor.class);
         CONSTRUCTOR = new Constructor();
@@ -32,6 +43,7 @@ public class Constructor {
 
     private Constructor() {
         constructions = new Hashtable<String, Construction>();
+        factories = new ClassCache<Factory>("factories");
     }
 
     public void addConstruction(Construction construction) {
@@ -39,7 +51,10 @@ public class Constructor {
         if (LOG.isDebugEnabled()) {
             LOG.info("Achieve construction [{}]", construction);
         }
-        construction = constructions.put(name, construction);
+        synchronized (this) {
+            construction = constructions.put(name, construction);
+            version++;
+        }
         if (construction != null && LOG.isDebugEnabled()) {
             LOG.warn("(!) Discard construction [{}]", construction);
         }
@@ -52,37 +67,89 @@ public class Constructor {
      * @return
      */
     public static boolean isSupport(Class<?> clazz) {
-        for (Construction construction : CONSTRUCTOR.constructions.values()) {
-            if (construction.isSupport(clazz)) {
-                return true;
-            }
-        }
-        return false;
+        return getFactory(clazz).constructions.length > 0;
     }
 
+    @SuppressWarnings("unchecked")
     public static <T> T construct(Class<? extends T> clazz, Object... args) {
-        for (Construction construction : CONSTRUCTOR.constructions.values()) {
-            if (construction.isSupport(clazz)) {
-                try {
-                    return construction.construct(clazz, args);
-                } catch (Exception e) {
-                }
+        Factory factory = getFactory(clazz);
+        for (Construction construction : factory.constructions) {
+            try {
+                return construction.construct(clazz, args);
+            } catch (Exception e) {
             }
         }
-        try {
-            java.lang.reflect.Constructor<? extends T> cons = clazz
-                    .getDeclaredConstructor();
-            if (cons != null) {
-                cons.setAccessible(true);
-                return cons.newInstance();
-            }
-        } catch (Exception e) {
+        if (factory.creator == null) {
+            throw new IllegalStateException(
+                    "Unsupported construct type " + clazz, factory.cause);
         }
         try {
-            return clazz.newInstance();
-        } catch (Exception e) {
+            return (T) (Object) factory.creator.invokeExact();
+        } catch (Throwable e) {
             throw new IllegalStateException(
                     "Unsupported construct type " + clazz, e);
         }
     }
+
+    /**
+     * 获取类工厂（按类缓存）
+     * 
+     * @param clazz
+     * @return
+     */
+    private static Factory getFactory(Class<?> clazz) {
+        int version = CONSTRUCTOR.version;
+        Factory factory = CONSTRUCTOR.factories.get(clazz);
+        if (factory == null || factory.version != version) {
+            CONSTRUCTOR.factories.put(clazz,
+                    factory = new Factory(version, clazz));
+        }
+        return factory;
+    }
+
+    /**
+     * 类工厂（匹配构造及无参构造句柄）
+     * 
+     * @author issing
+     */
+    private static class Factory {
+
+        private final int version;
+
+        private final Construction[] constructions;
+
+        /** 无参构造句柄（不可用时为空） */
+        private final MethodHandle creator;
+
+        /** 句柄不可用原因 */
+        private final Throwable cause;
+
+        public Factory(int version, Class<?> clazz) {
+            this.version = version;
+            List<Construction> constructions = new ArrayList<Construction>();
+            for (Construction construction : CONSTRUCTOR.constructions
+                    .values()) {
+                if (construction.isSupport(clazz)) {
+                    constructions.add(construction);
+                }
+            }
+            this.constructions = constructions
+                    .toArray(new Construction[constructions.size()]);
+            MethodHandle creator = null;
+            Throwable cause = null;
+            try {
+                java.lang.reflect.Constructor<?> cons = clazz
+                        .getDeclaredConstructor();
+                cons.setAccessible(true);
+                creator = MethodHandles.lookup().unreflectConstructor(cons)
+                        .asType(MethodType.methodType(Object.class));
+            } catch (Throwable e) {
+                cause = e;
+            }
+            this.creator = creator;
+            this.cause = cause;
+        }
+
+    }
+
 }
@@ -0,0 +1,338 @@
+package net.isger.util.reflect;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.isger.util.Helpers;
+import net.isger.util.Reflects;
+import net.isger.util.reflect.conversion.Conversion;
+
+/**
+ * 转换监控（按源类型、目标类型及转换名称统计次数、失败及耗时分布）
+ *
+ * @author issing
+ *
+ */
+public class ConversionMonitor implements ConversionMonitorMBean {
+
+    /** 启用配置键 */
+    private static final String KEY_ENABLED = "brick.util.reflect.conversion.monitor";
+
+    /** 管理对象名称 */
+    public static final String OBJECT_NAME = "net.isger.util:type=ConversionMonitor";
+
+    /** 耗时分布桶数（按纳秒二进制位数划分） */
+    public static final int BUCKETS = 40;
+
+    private static final Logger LOG;
+
+    private static final ConversionMonitor MONITOR;
+
+    /** 启用标记（停用时转换无额外开销） */
+    private static volatile boolean enabled;
+
+    private ConcurrentHashMap<Key, Counter> counters;
+
+    private volatile boolean registered;
+
+    static {
+        LOG = LoggerFactory.getLogger(ConversionMonitor.class);
+        MONITOR = new ConversionMonitor();
+        if (Helpers.toBoolean(Helpers.getProperty(KEY_ENABLED, "false"))) {
+            MONITOR.setEnabled(true);
+        }
+    }
+
+    private ConversionMonitor() {
+        counters = new ConcurrentHashMap<Key, Counter>();
+    }
+
+    public static ConversionMonitor getMonitor() {
+        return MONITOR;
+    }
+
+    /**
+     * 是否监控
+     *
+     * @return
+     */
+    public static boolean isMonitor() {
+        return enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (enabled) {
+            register();
+        }
+        ConversionMonitor.enabled = enabled;
+    }
+
+    /**
+     * 记录转换
+     *
+     * @param source
+     * @param target
+     * @param conversion
+     * @param success
+     * @param nanos
+     */
+    static void record(Class<?> source, Class<?> target,
+            Conversion conversion, boolean success, long nanos) {
+        Key key = new Key(source, target, conversion);
+        Counter counter = MONITOR.counters.get(key);
+        if (counter == null) {
+            counter = new Counter();
+            Counter previous = MONITOR.counters.putIfAbsent(key, counter);
+            if (previous != null) {
+                counter = previous;
+            }
+        }
+        counter.record(success, nanos);
+    }
+
+    /**
+     * 统计快照（按转换次数降序）
+     *
+     * @return
+     */
+    public List<Statistic> getSnapshot() {
+        List<Statistic> result = new ArrayList<Statistic>(counters.size());
+        for (Entry<Key, Counter> entry : counters.entrySet()) {
+            result.add(new Statistic(entry.getKey(), entry.getValue()));
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    public String[] getStatistics() {
+        List<Statistic> snapshot = getSnapshot();
+        String[] result = new String[snapshot.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = snapshot.get(i).toString();
+        }
+        return result;
+    }
+
+    public void reset() {
+        counters.clear();
+    }
+
+    /**
+     * 注册管理对象
+     */
+    private synchronized void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (Exception e) {
+            LOG.warn("(!) Failure to register {}", OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * 统计键（按名称，不持有类型及转换实例以免阻止类加载器回收）
+     *
+     * @author issing
+     *
+     */
+    private static class Key {
+
+        private final String source;
+
+        private final String target;
+
+        private final String conversion;
+
+        public Key(Class<?> source, Class<?> target, Conversion conversion) {
+            this.source = Reflects.getName(source);
+            this.target = Reflects.getName(target);
+            this.conversion = String.valueOf(conversion);
+        }
+
+        public int hashCode() {
+            return (source.hashCode() * 31 + target.hashCode()) * 31
+                    + conversion.hashCode();
+        }
+
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) obj;
+            return source.equals(key.source) && target.equals(key.target)
+                    && conversion.equals(key.conversion);
+        }
+
+    }
+
+    /**
+     * 统计计数
+     *
+     * @author issing
+     *
+     */
+    private static class Counter {
+
+        private final AtomicLong hits;
+
+        private final AtomicLong failures;
+
+        private final AtomicLong nanos;
+
+        private final AtomicLongArray buckets;
+
+        public Counter() {
+            hits = new AtomicLong();
+            failures = new AtomicLong();
+            nanos = new AtomicLong();
+            buckets = new AtomicLongArray(BUCKETS);
+        }
+
+        public void record(boolean success, long nanos) {
+            (success ? hits : failures).incrementAndGet();
+            this.nanos.addAndGet(nanos);
+            buckets.incrementAndGet(Math.min(BUCKETS - 1,
+                    64 - Long.numberOfLeadingZeros(Math.max(0, nanos))));
+        }
+
+    }
+
+    /**
+     * 转换统计
+     *
+     * @author issing
+     *
+     */
+    public static class Statistic implements Comparable<Statistic> {
+
+        private final String source;
+
+        private final String target;
+
+        private final String conversion;
+
+        private final long hits;
+
+        private final long failures;
+
+        private final long nanos;
+
+        /** 耗时分布（第 i 桶为耗时小于 2^i 纳秒的次数） */
+        private final long[] buckets;
+
+        private Statistic(Key key, Counter counter) {
+            this.source = key.source;
+            this.target = key.target;
+            this.conversion = key.conversion;
+            this.hits = counter.hits.get();
+            this.failures = counter.failures.get();
+            this.nanos = counter.nanos.get();
+            this.buckets = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                this.buckets[i] = counter.buckets.get(i);
+            }
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public String getConversion() {
+            return conversion;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getCount() {
+            return hits + failures;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long[] getBuckets() {
+            return buckets.clone();
+        }
+
+        /**
+         * 平均耗时（纳秒）
+         *
+         * @return
+         */
+        public long getMean() {
+            long count = getCount();
+            return count == 0 ? 0 : nanos / count;
+        }
+
+        /**
+         * 耗时分位上限（纳秒）
+         *
+         * @param percent
+         *            百分比（0-100）
+         * @return
+         */
+        public long getPercentile(double percent) {
+            long count = 0;
+            for (long bucket : buckets) {
+                count += bucket;
+            }
+            long rank = (long) Math.ceil(count * percent / 100);
+            count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                count += buckets[i];
+                if (count >= rank && count > 0) {
+                    return 1L << i;
+                }
+            }
+            return 0;
+        }
+
+        public int compareTo(Statistic statistic) {
+            long diff = statistic.getCount() - getCount();
+            return diff > 0 ? 1 : diff < 0 ? -1 : 0;
+        }
+
+        public String toString() {
+            return source + " -> " + target + " (" + conversion + ") hits="
+                    + hits + ", failures=" + failures + ", mean="
+                    + getMean() + "ns, p50<" + getPercentile(50)
+                    + "ns, p99<" + getPercentile(99) + "ns";
+        }
+
+    }
+
+}
@@ -0,0 +1,37 @@
+package net.isger.util.reflect;
+
+/**
+ * 转换监控管理接口
+ *
+ * @author issing
+ *
+ */
+public interface ConversionMonitorMBean {
+
+    /**
+     * 是否启用
+     *
+     * @return
+     */
+    public boolean isEnabled();
+
+    /**
+     * 启用/停用
+     *
+     * @param enabled
+     */
+    public void setEnabled(boolean enabled);
+
+    /**
+     * 转换统计（每项一行）
+     *
+     * @return
+     */
+    public String[] getStatistics();
+
+    /**
+     * 清空统计
+     */
+    public void reset();
+
+}
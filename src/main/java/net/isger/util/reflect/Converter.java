@@ -2,10 +2,14 @@ package net.isger.util.reflect;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +19,7 @@ import net.isger.util.Callable;
 import net.isger.util.Reflects;
 import net.isger.util.hitch.Director;
 import net.isger.util.reflect.conversion.Conversion;
+import net.isger.util.reflect.conversion.TryConversion;
 
 public class Converter {
 
@@ -28,6 +33,15 @@ public class Converter {
 
     private Map<String, Conversion> conversions;
 
+    /** 调度版本（注册转换后递增，失效调度缓存） */
+    private volatile int version;
+
+    /** 类调度缓存 */
+    private ClassCache<Dispatch> classDispatches;
+
+    /** 泛型调度缓存 */
+    private Map<Type, Dispatch> typeDispatches;
+
     static {
         LOG = LoggerFactory.getLogger(Converter.class);
         CONVERTER = new Converter();
@@ -40,6 +54,8 @@ public class Converter {
 
     private Converter() {
         conversions = new Hashtable<String, Conversion>();
+        classDispatches = new ClassCache<Dispatch>("conversions");
+        typeDispatches = new WeakHashMap<Type, Dispatch>();
     }
 
     public static boolean contains(Conversion conversion) {
@@ -54,7 +70,10 @@ public class Converter {
         if (LOG.isDebugEnabled()) {
             LOG.info("Achieve conversion [{}]", conversion);
         }
-        conversion = CONVERTER.conversions.put(name, conversion);
+        synchronized (CONVERTER) {
+            conversion = CONVERTER.conversions.put(name, conversion);
+            CONVERTER.version++;
+        }
         if (conversion != null && LOG.isDebugEnabled()) {
             LOG.warn("(!) Discard conversion [{}]", conversion);
         }
@@ -67,12 +86,50 @@ public class Converter {
      * @return
      */
     public static boolean isSupport(Class<?> clazz) {
+        return getDispatch(clazz).conversions.length > 0;
+    }
+
+    /**
+     * 获取支持指定类型的转换调度（按类型缓存）
+     * 
+     * @param type
+     * @return
+     */
+    private static Dispatch getDispatch(Type type) {
+        int version = CONVERTER.version;
+        Dispatch dispatch;
+        if (type instanceof Class) {
+            dispatch = CONVERTER.classDispatches.get((Class<?>) type);
+            if (dispatch == null || dispatch.version != version) {
+                CONVERTER.classDispatches.put((Class<?>) type,
+                        dispatch = new Dispatch(version, match(type)));
+            }
+        } else {
+            synchronized (CONVERTER.typeDispatches) {
+                dispatch = CONVERTER.typeDispatches.get(type);
+                if (dispatch == null || dispatch.version != version) {
+                    CONVERTER.typeDispatches.put(type,
+                            dispatch = new Dispatch(version, match(type)));
+                }
+            }
+        }
+        return dispatch;
+    }
+
+    /**
+     * 匹配支持指定类型的转换
+     * 
+     * @param type
+     * @return
+     */
+    private static Conversion[] match(Type type) {
+        List<Conversion> result = new ArrayList<Conversion>();
         for (Conversion conversion : CONVERTER.conversions.values()) {
-            if (conversion.isSupport(clazz)) {
-                return true;
+            if (conversion.isSupport(type)) {
+                result.add(conversion);
             }
         }
-        return false;
+        return result.toArray(new Conversion[result.size()]);
     }
 
     /**
@@ -107,17 +164,22 @@ public class Converter {
         if (rawClass.isAssignableFrom(srcClass)) {
             return value;
         }
-        /* 自定义转换 */
-        for (Conversion conversion : CONVERTER.conversions.values()) {
-            if (conversion.isSupport(type)) {
-                try {
-                    return conversion.convert(type, value);
-                } catch (Exception e) {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.warn("Failure to convert [{}] to [{}]", value,
-                                rawClass, e);
-                    }
-                }
+        /* 自定义转换（跳过已知不支持源类型的转换） */
+        Dispatch dispatch = getDispatch(type);
+        Object result;
+        long time;
+        for (Conversion conversion : dispatch.getConversions(srcClass)) {
+            if (ConversionMonitor.isMonitor()) {
+                time = System.nanoTime();
+                result = convert(dispatch, conversion, type, value);
+                ConversionMonitor.record(srcClass, rawClass, conversion,
+                        result != TryConversion.UNCONVERTED,
+                        System.nanoTime() - time);
+            } else {
+                result = convert(dispatch, conversion, type, value);
+            }
+            if (result != TryConversion.UNCONVERTED) {
+                return result;
             }
         }
         /* 多值转换 */
@@ -154,6 +216,95 @@ public class Converter {
                 Reflects.getName(rawClass), srcClass.getName());
     }
 
+    /**
+     * 尝试转换（失败时返回 UNCONVERTED）
+     * 
+     * @param dispatch
+     * @param conversion
+     * @param type
+     * @param value
+     * @return
+     */
+    private static Object convert(Dispatch dispatch, Conversion conversion,
+            Type type, Object value) {
+        Object result = TryConversion.UNCONVERTED;
+        try {
+            if (!(conversion instanceof TryConversion)) {
+                return conversion.convert(type, value);
+            }
+            result = ((TryConversion) conversion).tryConvert(type, value);
+            if (result == TryConversion.UNSUPPORTED) {
+                dispatch.exclude(value.getClass(), conversion);
+                result = TryConversion.UNCONVERTED;
+            }
+        } catch (Exception e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.warn("Failure to convert [{}] to [{}]", value,
+                        Reflects.getRawClass(type), e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 转换调度
+     * 
+     * @author issing
+     */
+    private static class Dispatch {
+
+        private final int version;
+
+        private final Conversion[] conversions;
+
+        /** 源类型可用转换（排除不支持源类型的转换） */
+        private volatile Map<Class<?>, Conversion[]> sources;
+
+        public Dispatch(int version, Conversion[] conversions) {
+            this.version = version;
+            this.conversions = conversions;
+        }
+
+        /**
+         * 获取源类型可用转换
+         * 
+         * @param source
+         * @return
+         */
+        public Conversion[] getConversions(Class<?> source) {
+            Map<Class<?>, Conversion[]> sources = this.sources;
+            if (sources != null) {
+                Conversion[] result = sources.get(source);
+                if (result != null) {
+                    return result;
+                }
+            }
+            return conversions;
+        }
+
+        /**
+         * 排除不支持源类型的转换
+         * 
+         * @param source
+         * @param conversion
+         */
+        public synchronized void exclude(Class<?> source,
+                Conversion conversion) {
+            if (sources == null) {
+                sources = Collections.synchronizedMap(
+                        new WeakHashMap<Class<?>, Conversion[]>());
+            }
+            List<Conversion> result = new ArrayList<Conversion>();
+            for (Conversion candidate : getConversions(source)) {
+                if (candidate != conversion) {
+                    result.add(candidate);
+                }
+            }
+            sources.put(source, result.toArray(new Conversion[result.size()]));
+        }
+
+    }
+
     public static Object defaultValue(Type type) {
         Class<?> rawClass = Reflects.getRawClass(type);
         if (rawClass.isPrimitive()) {
@@ -0,0 +1,82 @@
+package net.isger.util.reflect;
+
+import net.isger.util.Reflects;
+
+/**
+ * 行映射（按列位置填充实例，免除逐行键值对集合）
+ *
+ * @author issing
+ *
+ * @param <T>
+ */
+public class RowMapper<T> {
+
+    private Class<T> rawClass;
+
+    /** 绑定字段（按绑定计划顺序） */
+    private BoundField[] fields;
+
+    /** 字段所在列位置 */
+    private int[] columns;
+
+    @SuppressWarnings("unchecked")
+    RowMapper(BindingPlan plan, String[] names) {
+        this.rawClass = (Class<T>) plan.getRawClass();
+        /* 同名列取末位（与集合覆盖一致） */
+        int[] slots = new int[plan.size()];
+        int amount = 0;
+        int index;
+        for (int i = 0; i < names.length; i++) {
+            index = plan.indexOf(names[i]);
+            if (index != -1) {
+                if (slots[index] == 0) {
+                    amount++;
+                }
+                slots[index] = i + 1;
+            }
+        }
+        this.fields = new BoundField[amount];
+        this.columns = new int[amount];
+        amount = 0;
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != 0) {
+                fields[amount] = plan.getField(i);
+                columns[amount++] = slots[i] - 1;
+            }
+        }
+    }
+
+    public Class<T> getRawClass() {
+        return rawClass;
+    }
+
+    /**
+     * 映射实例
+     *
+     * @param values
+     * @return
+     */
+    public T map(Object[] values) {
+        return map(Reflects.newInstance(rawClass), values);
+    }
+
+    /**
+     * 映射实例
+     *
+     * @param instance
+     * @param values
+     * @return
+     */
+    public T map(T instance, Object[] values) {
+        int column;
+        Object value;
+        for (int i = 0; i < fields.length; i++) {
+            column = columns[i];
+            if (column < values.length && (value = values[column]) != null) {
+                fields[i].setValue(instance, value, null);
+            }
+        }
+        return instance;
+    }
+
+}
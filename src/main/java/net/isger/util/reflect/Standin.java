@@ -4,6 +4,9 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import net.isger.brick.blue.ClassSeal;
 import net.isger.brick.blue.Marks.ACCESS;
@@ -14,6 +17,13 @@ import net.isger.brick.blue.Marks.VERSION;
 import net.isger.brick.blue.MethodSeal;
 import net.isger.util.Reflects;
 
+/**
+ * 替身（生成类按目标类缓存，各实例独立回调）
+ * 
+ * @author issing
+ *
+ * @param <T>
+ */
 public abstract class Standin<T extends Object> extends ClassLoader {
 
     private static final String CLASS_STANDIN = "Standin";
@@ -22,11 +32,94 @@ public abstract class Standin<T extends Object> extends ClassLoader {
 
     private static final String FIELD_METHODS = "Brick$util$reflect$methods";
 
+    /** 类型化回调最大参数个数 */
+    private static final int MAX_TYPED_ARITY = 2;
+
+    /** 类型化回调基本类型参数（同一方法参数须同类） */
+    private static final Class<?>[] TYPED_ARGS = { Integer.TYPE, Long.TYPE,
+            Double.TYPE };
+
+    /** 类型化回调（按返回类型） */
+    private static final Map<Class<?>, String> TYPED_ACTIONS;
+
+    /** 替身模板缓存（随目标类回收） */
+    private static final ClassCache<Template> TEMPLATES;
+
+    /** 类型化替身模板缓存 */
+    private static final ClassCache<Template> TYPED_TEMPLATES;
+
     private T source;
 
-    @SuppressWarnings("unchecked")
+    /** 目标方法（按方法索引） */
+    private Method[] methods;
+
+    static {
+        TYPED_ACTIONS = new HashMap<Class<?>, String>();
+        TYPED_ACTIONS.put(Object.class, "action");
+        TYPED_ACTIONS.put(Void.TYPE, "action");
+        TYPED_ACTIONS.put(Integer.TYPE, "actionInt");
+        TYPED_ACTIONS.put(Long.TYPE, "actionLong");
+        TYPED_ACTIONS.put(Double.TYPE, "actionDouble");
+        TYPED_ACTIONS.put(Boolean.TYPE, "actionBoolean");
+        TEMPLATES = new ClassCache<Template>("standins");
+        TYPED_TEMPLATES = new ClassCache<Template>("typed standins");
+    }
+
     public Standin(Class<T> clazz) {
+        this(clazz, false);
+    }
+
+    /**
+     * 替身
+     * 
+     * @param clazz
+     * @param typed
+     *            类型化回调（抽象方法按索引调用 action(int, ...) 等，免装箱）
+     */
+    @SuppressWarnings("unchecked")
+    public Standin(Class<T> clazz, boolean typed) {
         super(Reflects.getClassLoader(clazz));
+        Template template = getTemplate(clazz, typed);
+        methods = template.targetMethods;
+        try {
+            source = (T) template.type.newInstance();
+            template.standin.set(source, this);
+            template.methods.set(source, template.targetMethods);
+        } catch (Throwable e) {
+            throw new IllegalStateException(
+                    "Failure create stand-in for " + clazz, e);
+        }
+    }
+
+    /**
+     * 获取替身模板（同一目标类仅生成一次）
+     * 
+     * @param clazz
+     * @return
+     */
+    private static Template getTemplate(Class<?> clazz, boolean typed) {
+        ClassCache<Template> templates = typed ? TYPED_TEMPLATES : TEMPLATES;
+        Template template = templates.get(clazz);
+        if (template == null) {
+            synchronized (templates) {
+                template = templates.get(clazz);
+                if (template == null) {
+                    template = templates.put(clazz,
+                            makeTemplate(clazz, typed));
+                }
+            }
+        }
+        return template;
+    }
+
+    /**
+     * 生成替身模板
+     * 
+     * @param clazz
+     * @param typed
+     * @return
+     */
+    private static Template makeTemplate(Class<?> clazz, boolean typed) {
         ClassSeal cs;
         Constructor<?>[] constructors;
         if (clazz.isInterface()) {
@@ -41,28 +134,26 @@ public abstract class Standin<T extends Object> extends ClassLoader {
         Method[] methods = clazz.getMethods();
         makeFields(cs);
         makeConstructors(cs, constructors);
-        makeMethods(cs, clazz.getMethods());
+        makeMethods(cs, methods, typed);
         byte[] code = net.isger.brick.blue.Compiler.compile(cs);
         try {
-            source = (T) this.defineClass(CLASS_STANDIN, code, 0, code.length)
-                    .newInstance();
-            Field field = source.getClass().getField(FIELD_STANDIN);
-            field.set(source, this);
-            field = source.getClass().getField(FIELD_METHODS);
-            field.set(source, methods);
+            Class<?> type = new Loader(Reflects.getClassLoader(clazz))
+                    .define(CLASS_STANDIN, code);
+            return new Template(type, methods);
         } catch (Throwable e) {
             throw new IllegalStateException(
                     "Failure create stand-in for " + clazz, e);
         }
     }
 
-    private void makeFields(ClassSeal cs) {
+    private static void makeFields(ClassSeal cs) {
         cs.makeField(ACCESS.PUBLIC.value, Standin.class.getName(),
                 FIELD_STANDIN);
         cs.makeField(ACCESS.PUBLIC.value, TYPE.METHODS.name, FIELD_METHODS);
     }
 
-    private void makeConstructors(ClassSeal cs, Constructor<?>[] constructors) {
+    private static void makeConstructors(ClassSeal cs,
+            Constructor<?>[] constructors) {
         MethodSeal ms;
         int mod;
         String[] argTypeNames;
@@ -83,7 +174,8 @@ public abstract class Standin<T extends Object> extends ClassLoader {
         }
     }
 
-    private void makeMethods(ClassSeal cs, Method[] methods) {
+    private static void makeMethods(ClassSeal cs, Method[] methods,
+            boolean typed) {
         MethodSeal ms;
         int mod;
         String[] argTypeNames;
@@ -100,7 +192,9 @@ public abstract class Standin<T extends Object> extends ClassLoader {
             ms = cs.makeMethod(ACCESS.PUBLIC.value,
                     method.getReturnType().getName(), method.getName(),
                     argTypeNames);
-            if (Modifier.isAbstract(mod)) {
+            if (Modifier.isAbstract(mod) && typed && isTyped(method)) {
+                makeTypedAction(ms, method, i);
+            } else if (Modifier.isAbstract(mod)) {
                 ms.markOperate("action(Method, Object[])",
                         Standin.class.getName(), OPCODES.INVOKEVIRTUAL.value,
                         TYPE.OBJECT.name, "action", TYPE.METHOD.name,
@@ -124,10 +218,379 @@ public abstract class Standin<T extends Object> extends ClassLoader {
         }
     }
 
+    /**
+     * 类型化回调（参数均为引用类型或同为整型、长整型、双精度，且返回类型有对应回调）
+     * 
+     * @param method
+     * @return
+     */
+    private static boolean isTyped(Method method) {
+        Class<?>[] argTypes = method.getParameterTypes();
+        if (argTypes.length > MAX_TYPED_ARITY) {
+            return false;
+        }
+        Class<?> argKind = argTypes.length == 0 ? null : argTypes[0];
+        for (Class<?> argType : argTypes) {
+            if (argType.isPrimitive() ? argType != argKind
+                    || !Arrays.asList(TYPED_ARGS).contains(argType)
+                    : argKind.isPrimitive()) {
+                return false;
+            }
+        }
+        Class<?> resultType = method.getReturnType();
+        return TYPED_ACTIONS.containsKey(
+                resultType.isPrimitive() ? resultType : Object.class);
+    }
+
+    /**
+     * 生成类型化回调
+     * 
+     * @param ms
+     * @param method
+     * @param index
+     */
+    private static void makeTypedAction(MethodSeal ms, Method method,
+            int index) {
+        Class<?> resultType = method.getReturnType();
+        String action = TYPED_ACTIONS.get(
+                resultType.isPrimitive() ? resultType : Object.class);
+        int arity = method.getParameterTypes().length;
+        String[] argTypeNames = new String[arity + 1];
+        String[] args = new String[arity + 1];
+        argTypeNames[0] = TYPE.INT.name;
+        args[0] = "index";
+        Class<?> argType;
+        for (int i = 1; i <= arity; i++) {
+            argType = method.getParameterTypes()[i - 1];
+            argTypeNames[i] = argType.isPrimitive() ? argType.getName()
+                    : TYPE.OBJECT.name;
+            args[i] = MISC.arg(i - 1);
+        }
+        String operate = action + "(int, " + arity + ")";
+        ms.markOperate(operate, Standin.class.getName(),
+                OPCODES.INVOKEVIRTUAL.value,
+                resultType.isPrimitive() && resultType != Void.TYPE
+                        ? resultType.getName() : TYPE.OBJECT.name,
+                action, argTypeNames);
+        ms.markConst("index", index);
+        ms.coding(FIELD_STANDIN, operate, args);
+    }
+
     public T getSource() {
         return this.source;
     }
 
+    /**
+     * 获取目标方法
+     * 
+     * @param index
+     *            方法索引
+     * @return
+     */
+    protected Method getMethod(int index) {
+        return methods[index];
+    }
+
     public abstract Object action(Method method, Object[] args);
 
+    /**
+     * 类型化回调（引用类型及无返回值方法，默认转入 action(Method, Object[])，可重写以免装箱）
+     * 
+     * @param index
+     *            方法索引（见 getMethod(int)）
+     * @return
+     */
+    public Object action(int index) {
+        return action(methods[index], new Object[0]);
+    }
+
+    public Object action(int index, Object arg0) {
+        return action(methods[index], new Object[] { arg0 });
+    }
+
+    public Object action(int index, Object arg0, Object arg1) {
+        return action(methods[index], new Object[] { arg0, arg1 });
+    }
+
+    /**
+     * 类型化回调（整型返回值方法）
+     * 
+     * @param index
+     * @return
+     */
+    public int actionInt(int index) {
+        return ((Number) action(methods[index], new Object[0])).intValue();
+    }
+
+    public int actionInt(int index, Object arg0) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0 })).intValue();
+    }
+
+    public int actionInt(int index, Object arg0, Object arg1) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0, arg1 })).intValue();
+    }
+
+    /**
+     * 类型化回调（长整型返回值方法）
+     * 
+     * @param index
+     * @return
+     */
+    public long actionLong(int index) {
+        return ((Number) action(methods[index], new Object[0])).longValue();
+    }
+
+    public long actionLong(int index, Object arg0) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0 })).longValue();
+    }
+
+    public long actionLong(int index, Object arg0, Object arg1) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0, arg1 })).longValue();
+    }
+
+    /**
+     * 类型化回调（双精度返回值方法）
+     * 
+     * @param index
+     * @return
+     */
+    public double actionDouble(int index) {
+        return ((Number) action(methods[index], new Object[0])).doubleValue();
+    }
+
+    public double actionDouble(int index, Object arg0) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0 })).doubleValue();
+    }
+
+    public double actionDouble(int index, Object arg0, Object arg1) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0, arg1 })).doubleValue();
+    }
+
+    /**
+     * 类型化回调（布尔返回值方法）
+     * 
+     * @param index
+     * @return
+     */
+    public boolean actionBoolean(int index) {
+        return (Boolean) action(methods[index], new Object[0]);
+    }
+
+    public boolean actionBoolean(int index, Object arg0) {
+        return (Boolean) action(methods[index], new Object[] { arg0 });
+    }
+
+    public boolean actionBoolean(int index, Object arg0, Object arg1) {
+        return (Boolean) action(methods[index], new Object[] { arg0, arg1 });
+    }
+
+    /**
+     * 类型化回调（整型参数，默认装箱转入 action(Method, Object[])，按返回类型选用同名回调重写）
+     * 
+     * @param index
+     * @param arg0
+     * @return
+     */
+    public Object action(int index, int arg0) {
+        return action(methods[index], new Object[] { arg0 });
+    }
+
+    public Object action(int index, int arg0, int arg1) {
+        return action(methods[index], new Object[] { arg0, arg1 });
+    }
+
+    public int actionInt(int index, int arg0) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0 })).intValue();
+    }
+
+    public int actionInt(int index, int arg0, int arg1) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0, arg1 })).intValue();
+    }
+
+    public long actionLong(int index, int arg0) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0 })).longValue();
+    }
+
+    public long actionLong(int index, int arg0, int arg1) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0, arg1 })).longValue();
+    }
+
+    public double actionDouble(int index, int arg0) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0 })).doubleValue();
+    }
+
+    public double actionDouble(int index, int arg0, int arg1) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0, arg1 })).doubleValue();
+    }
+
+    public boolean actionBoolean(int index, int arg0) {
+        return (Boolean) action(methods[index], new Object[] { arg0 });
+    }
+
+    public boolean actionBoolean(int index, int arg0, int arg1) {
+        return (Boolean) action(methods[index], new Object[] { arg0, arg1 });
+    }
+
+    /**
+     * 类型化回调（长整型参数，默认装箱转入 action(Method, Object[])，按返回类型选用同名回调重写）
+     * 
+     * @param index
+     * @param arg0
+     * @return
+     */
+    public Object action(int index, long arg0) {
+        return action(methods[index], new Object[] { arg0 });
+    }
+
+    public Object action(int index, long arg0, long arg1) {
+        return action(methods[index], new Object[] { arg0, arg1 });
+    }
+
+    public int actionInt(int index, long arg0) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0 })).intValue();
+    }
+
+    public int actionInt(int index, long arg0, long arg1) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0, arg1 })).intValue();
+    }
+
+    public long actionLong(int index, long arg0) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0 })).longValue();
+    }
+
+    public long actionLong(int index, long arg0, long arg1) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0, arg1 })).longValue();
+    }
+
+    public double actionDouble(int index, long arg0) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0 })).doubleValue();
+    }
+
+    public double actionDouble(int index, long arg0, long arg1) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0, arg1 })).doubleValue();
+    }
+
+    public boolean actionBoolean(int index, long arg0) {
+        return (Boolean) action(methods[index], new Object[] { arg0 });
+    }
+
+    public boolean actionBoolean(int index, long arg0, long arg1) {
+        return (Boolean) action(methods[index], new Object[] { arg0, arg1 });
+    }
+
+    /**
+     * 类型化回调（双精度参数，默认装箱转入 action(Method, Object[])，按返回类型选用同名回调重写）
+     * 
+     * @param index
+     * @param arg0
+     * @return
+     */
+    public Object action(int index, double arg0) {
+        return action(methods[index], new Object[] { arg0 });
+    }
+
+    public Object action(int index, double arg0, double arg1) {
+        return action(methods[index], new Object[] { arg0, arg1 });
+    }
+
+    public int actionInt(int index, double arg0) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0 })).intValue();
+    }
+
+    public int actionInt(int index, double arg0, double arg1) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0, arg1 })).intValue();
+    }
+
+    public long actionLong(int index, double arg0) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0 })).longValue();
+    }
+
+    public long actionLong(int index, double arg0, double arg1) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0, arg1 })).longValue();
+    }
+
+    public double actionDouble(int index, double arg0) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0 })).doubleValue();
+    }
+
+    public double actionDouble(int index, double arg0, double arg1) {
+        return ((Number) action(methods[index],
+                new Object[] { arg0, arg1 })).doubleValue();
+    }
+
+    public boolean actionBoolean(int index, double arg0) {
+        return (Boolean) action(methods[index], new Object[] { arg0 });
+    }
+
+    public boolean actionBoolean(int index, double arg0, double arg1) {
+        return (Boolean) action(methods[index], new Object[] { arg0, arg1 });
+    }
+
+    /**
+     * 替身模板（生成类及字段）
+     * 
+     * @author issing
+     *
+     */
+    private static class Template {
+
+        private final Class<?> type;
+
+        private final Method[] targetMethods;
+
+        private final Field standin;
+
+        private final Field methods;
+
+        public Template(Class<?> type, Method[] targetMethods)
+                throws NoSuchFieldException {
+            this.type = type;
+            this.targetMethods = targetMethods;
+            this.standin = type.getField(FIELD_STANDIN);
+            this.methods = type.getField(FIELD_METHODS);
+        }
+
+    }
+
+    /**
+     * 替身类加载器（每个目标类一个，随目标类回收）
+     * 
+     * @author issing
+     *
+     */
+    private static class Loader extends ClassLoader {
+
+        public Loader(ClassLoader parent) {
+            super(parent);
+        }
+
+        public Class<?> define(String name, byte[] code) {
+            return defineClass(name, code, 0, code.length);
+        }
+
+    }
+
 }
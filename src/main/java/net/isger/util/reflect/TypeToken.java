@@ -1,13 +1,31 @@
 package net.isger.util.reflect;
 
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import net.isger.util.Asserts;
 import net.isger.util.Reflects;
 
 public class TypeToken<T> {
 
+    /** 类令牌缓存（容量同元数据缓存配置） */
+    private static final ClassCache<TypeToken<?>> CLASS_TOKENS;
+
+    /** 泛型令牌驻留表（弱引用，随令牌回收） */
+    private static final Map<Type, Reference<TypeToken<?>>> TOKENS;
+
+    static {
+        CLASS_TOKENS = new ClassCache<TypeToken<?>>("tokens",
+                ClassCache.getDefaultCapacity());
+        TOKENS = Collections.synchronizedMap(
+                new WeakHashMap<Type, Reference<TypeToken<?>>>());
+    }
+
     private Type type;
 
     private Class<? super T> rawClass;
@@ -58,11 +76,38 @@ public class TypeToken<T> {
     }
 
     public static TypeToken<?> get(Type type) {
-        return new TypeToken<Object>(type);
+        if (type instanceof Class) {
+            return get((Class<?>) type);
+        }
+        type = Reflects.toCanonicalize(Asserts.isNotNull(type));
+        synchronized (TOKENS) {
+            Reference<TypeToken<?>> reference = TOKENS.get(type);
+            TypeToken<?> token = reference == null ? null : reference.get();
+            if (token == null) {
+                token = new TypeToken<Object>(type);
+                TOKENS.put(token.type,
+                        new WeakReference<TypeToken<?>>(token));
+            }
+            return token;
+        }
     }
 
+    /**
+     * 获取类令牌缓存
+     *
+     * @return
+     */
+    public static ClassCache<TypeToken<?>> getCache() {
+        return CLASS_TOKENS;
+    }
+
+    @SuppressWarnings("unchecked")
     public static <T> TypeToken<T> get(Class<T> type) {
-        return new TypeToken<T>(type);
+        TypeToken<T> token = (TypeToken<T>) CLASS_TOKENS.get(type);
+        if (token == null) {
+            CLASS_TOKENS.put(type, token = new TypeToken<T>(type));
+        }
+        return token;
     }
 
 }
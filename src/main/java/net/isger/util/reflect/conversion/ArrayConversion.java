@@ -2,12 +2,20 @@ package net.isger.util.reflect.conversion;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import net.isger.util.Reflects;
 import net.isger.util.reflect.Converter;
 
+/**
+ * 数组转换（基本类型目标数组批量转换，字节数组源视为文本）
+ * 
+ * @author issing
+ *
+ */
 public class ArrayConversion implements Conversion {
 
     public static final ArrayConversion CONVERSION = new ArrayConversion();
@@ -20,12 +28,33 @@ public class ArrayConversion implements Conversion {
     }
 
     public Object convert(Type type, Object value) {
+        Class<?> componentClass = Reflects.getRawClass(type).getComponentType();
+        /* 基本类型数组批量转换 */
+        if (componentClass == Integer.TYPE) {
+            return toInts(value);
+        } else if (componentClass == Long.TYPE) {
+            return toLongs(value);
+        } else if (componentClass == Double.TYPE) {
+            return toDoubles(value);
+        } else if (componentClass == Float.TYPE) {
+            return toFloats(value);
+        } else if (componentClass == Short.TYPE) {
+            return toShorts(value);
+        } else if (componentClass == Byte.TYPE) {
+            return toBytes(value);
+        } else if (componentClass == Character.TYPE) {
+            return toChars(value);
+        } else if (componentClass == Boolean.TYPE) {
+            return toBooleans(value);
+        }
         if (value instanceof Object[]) {
             value = Arrays.asList((Object[]) value);
+        } else if (value.getClass().isArray()
+                && !(value instanceof byte[])) {
+            value = toList(value);
         } else if (!(value instanceof Collection)) {
             value = Arrays.asList(value);
         }
-        Class<?> componentClass = Reflects.getRawClass(type).getComponentType();
         int count = ((Collection<?>) value).size();
         Object[] values = ((Collection<?>) value).toArray();
         Object array = Array.newInstance(componentClass, count);
@@ -35,6 +64,294 @@ public class ArrayConversion implements Conversion {
         return array;
     }
 
+    /**
+     * 转换整型数组
+     *
+     * @param value
+     * @return
+     */
+    private static int[] toInts(Object value) {
+        int[] result;
+        if (value instanceof long[]) {
+            long[] source = (long[]) value;
+            result = new int[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = (int) source[i];
+            }
+        } else if (value instanceof double[]) {
+            double[] source = (double[]) value;
+            result = new int[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = (int) source[i];
+            }
+        } else if (value instanceof Object[]) {
+            Object[] source = (Object[]) value;
+            result = new int[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = NumberConversion.toInt(source[i]);
+            }
+        } else if (value instanceof Collection) {
+            result = new int[((Collection<?>) value).size()];
+            int i = 0;
+            for (Object element : (Collection<?>) value) {
+                result[i++] = NumberConversion.toInt(element);
+            }
+        } else if (value.getClass().isArray()
+                && !(value instanceof byte[])) {
+            int count = Array.getLength(value);
+            result = new int[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = NumberConversion.toInt(Array.get(value, i));
+            }
+        } else {
+            result = new int[] { NumberConversion.toInt(value) };
+        }
+        return result;
+    }
+
+    /**
+     * 转换长整型数组
+     *
+     * @param value
+     * @return
+     */
+    private static long[] toLongs(Object value) {
+        long[] result;
+        if (value instanceof int[]) {
+            int[] source = (int[]) value;
+            result = new long[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = source[i];
+            }
+        } else if (value instanceof double[]) {
+            double[] source = (double[]) value;
+            result = new long[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = (long) source[i];
+            }
+        } else if (value instanceof Object[]) {
+            Object[] source = (Object[]) value;
+            result = new long[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = NumberConversion.toLong(source[i]);
+            }
+        } else if (value instanceof Collection) {
+            result = new long[((Collection<?>) value).size()];
+            int i = 0;
+            for (Object element : (Collection<?>) value) {
+                result[i++] = NumberConversion.toLong(element);
+            }
+        } else if (value.getClass().isArray()
+                && !(value instanceof byte[])) {
+            int count = Array.getLength(value);
+            result = new long[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = NumberConversion.toLong(Array.get(value, i));
+            }
+        } else {
+            result = new long[] { NumberConversion.toLong(value) };
+        }
+        return result;
+    }
+
+    /**
+     * 转换双精度数组
+     *
+     * @param value
+     * @return
+     */
+    private static double[] toDoubles(Object value) {
+        double[] result;
+        if (value instanceof int[]) {
+            int[] source = (int[]) value;
+            result = new double[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = source[i];
+            }
+        } else if (value instanceof long[]) {
+            long[] source = (long[]) value;
+            result = new double[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = source[i];
+            }
+        } else if (value instanceof Object[]) {
+            Object[] source = (Object[]) value;
+            result = new double[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = NumberConversion.toDouble(source[i]);
+            }
+        } else if (value instanceof Collection) {
+            result = new double[((Collection<?>) value).size()];
+            int i = 0;
+            for (Object element : (Collection<?>) value) {
+                result[i++] = NumberConversion.toDouble(element);
+            }
+        } else if (value.getClass().isArray()
+                && !(value instanceof byte[])) {
+            int count = Array.getLength(value);
+            result = new double[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = NumberConversion.toDouble(Array.get(value, i));
+            }
+        } else {
+            result = new double[] { NumberConversion.toDouble(value) };
+        }
+        return result;
+    }
+
+    /**
+     * 转换单精度数组
+     *
+     * @param value
+     * @return
+     */
+    private static float[] toFloats(Object value) {
+        float[] result;
+        if (value instanceof int[]) {
+            int[] source = (int[]) value;
+            result = new float[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = source[i];
+            }
+        } else if (value instanceof long[]) {
+            long[] source = (long[]) value;
+            result = new float[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = source[i];
+            }
+        } else if (value instanceof double[]) {
+            double[] source = (double[]) value;
+            result = new float[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = (float) source[i];
+            }
+        } else {
+            Object[] source = toElements(value);
+            result = new float[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = NumberConversion.toFloat(source[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 转换短整型数组
+     *
+     * @param value
+     * @return
+     */
+    private static short[] toShorts(Object value) {
+        short[] result;
+        if (value instanceof int[]) {
+            int[] source = (int[]) value;
+            result = new short[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = (short) source[i];
+            }
+        } else if (value instanceof long[]) {
+            long[] source = (long[]) value;
+            result = new short[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = (short) source[i];
+            }
+        } else {
+            Object[] source = toElements(value);
+            result = new short[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = (short) NumberConversion.toInt(source[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 转换字节数组（字节数组源同其他路径视为文本）
+     *
+     * @param value
+     * @return
+     */
+    private static byte[] toBytes(Object value) {
+        byte[] result;
+        if (value instanceof int[]) {
+            int[] source = (int[]) value;
+            result = new byte[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = (byte) source[i];
+            }
+        } else {
+            Object[] source = toElements(value);
+            result = new byte[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = (byte) NumberConversion.toInt(source[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 转换字符数组（逐元素转换，免反射赋值）
+     *
+     * @param value
+     * @return
+     */
+    private static char[] toChars(Object value) {
+        Object[] source = toElements(value);
+        char[] result = new char[source.length];
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (Character) Converter.convert(Character.TYPE,
+                    source[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 转换布尔数组（逐元素转换，免反射赋值）
+     *
+     * @param value
+     * @return
+     */
+    private static boolean[] toBooleans(Object value) {
+        Object[] source = toElements(value);
+        boolean[] result = new boolean[source.length];
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (Boolean) Converter.convert(Boolean.TYPE, source[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 获取源元素（集合、数组展开，其余视为单个元素）
+     *
+     * @param value
+     * @return
+     */
+    private static Object[] toElements(Object value) {
+        if (value instanceof Object[]) {
+            return (Object[]) value;
+        } else if (value instanceof Collection) {
+            return ((Collection<?>) value).toArray();
+        } else if (value.getClass().isArray() && !(value instanceof byte[])) {
+            return toList(value).toArray();
+        }
+        return new Object[] { value };
+    }
+
+    /**
+     * 展开基本类型数组
+     *
+     * @param array
+     * @return
+     */
+    static List<Object> toList(Object array) {
+        int count = Array.getLength(array);
+        List<Object> result = new ArrayList<Object>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(Array.get(array, i));
+        }
+        return result;
+    }
+
     public String toString() {
         return "array";
     }
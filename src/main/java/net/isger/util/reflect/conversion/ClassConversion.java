@@ -5,7 +5,7 @@ import java.lang.reflect.Type;
 import net.isger.util.Asserts;
 import net.isger.util.Reflects;
 
-public class ClassConversion implements Conversion {
+public class ClassConversion implements TryConversion {
 
     public static final ClassConversion CONVERSION = new ClassConversion();
 
@@ -26,6 +26,14 @@ public class ClassConversion implements Conversion {
         throw Asserts.state("Unexpected class conversion for %s", value);
     }
 
+    public Object tryConvert(Type type, Object value) {
+        if (!(value instanceof String)) {
+            return UNSUPPORTED;
+        }
+        Object result = Reflects.getClass((String) value);
+        return result == null ? UNCONVERTED : result;
+    }
+
     public String toString() {
         return "class";
     }
@@ -22,6 +22,9 @@ public class CollectionConversion implements Conversion {
     public Object convert(Type type, Object value) {
         if (value instanceof Object[]) {
             value = Arrays.asList((Object[]) value);
+        } else if (value.getClass().isArray()
+                && !(value instanceof byte[])) {
+            value = ArrayConversion.toList(value);
         } else if (!(value instanceof Collection)) {
             value = Arrays.asList(value);
         }
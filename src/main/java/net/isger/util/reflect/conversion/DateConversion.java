@@ -1,17 +1,35 @@
 package net.isger.util.reflect.conversion;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Map;
 
 import net.isger.util.Asserts;
 import net.isger.util.Dates;
 import net.isger.util.Reflects;
 
-public class DateConversion implements Conversion {
+public class DateConversion implements TryConversion {
 
     public static final DateConversion CONVERSION = new DateConversion();
 
+    /** 静态解析方法（valueOf(String)，按类缓存） */
+    private static final ClassValue<Method> PARSERS = new ClassValue<Method>() {
+        protected Method computeValue(Class<?> type) {
+            try {
+                Method method = type.getMethod("valueOf", String.class);
+                if (Modifier.isStatic(method.getModifiers())
+                        && type.isAssignableFrom(method.getReturnType())) {
+                    return method;
+                }
+            } catch (Exception e) {
+            }
+            return null;
+        }
+    };
+
     private DateConversion() {
     }
 
@@ -21,37 +39,63 @@ public class DateConversion implements Conversion {
     }
 
     public Date convert(Type type, Object value) {
+        if (value == null) {
+            return null;
+        }
+        Date date = toDate(type, value);
+        if (date == null) {
+            throw Asserts.argument(value instanceof byte[]
+                    ? new String((byte[]) value) : value.toString());
+        }
+        return date;
+    }
+
+    public Object tryConvert(Type type, Object value) {
+        if (value instanceof Collection || value instanceof Map
+                || value != null && value.getClass().isArray()
+                        && !(value instanceof byte[])) {
+            return UNSUPPORTED;
+        } else if (value == null) {
+            return null;
+        }
+        Date date = toDate(type, value);
+        return date == null ? UNCONVERTED : date;
+    }
+
+    /**
+     * 转换日期（无法转换时返回空）
+     * 
+     * @param type
+     * @param value
+     * @return
+     */
+    private Date toDate(Type type, Object value) {
         String source;
-        convert: {
-            if (value == null) {
-                return null;
-            } else if (value instanceof byte[]) {
-                source = new String((byte[]) value);
-            } else if (value instanceof Number) {
-                source = value.toString();
-            } else if (!(value instanceof String)) {
-                source = value.toString();
-                break convert;
-            } else {
-                source = (String) value;
-            }
+        if (value instanceof Number) {
+            return new Date(((Number) value).longValue());
+        } else if (value instanceof byte[]) {
+            source = new String((byte[]) value);
+        } else if (value instanceof String) {
+            source = (String) value;
+        } else {
+            return Dates.toDate(value);
+        }
+        /* 毫秒数 */
+        if (NumberConversion.isDecimal(source)) {
             try {
                 return new Date(Double.valueOf(source).longValue());
-            } catch (Exception e) {
-                value = source;
+            } catch (NumberFormatException e) {
             }
         }
-        try {
-            Method method = Reflects.getRawClass(type)
-                    .getDeclaredMethod("valueOf");
-            return (Date) method.invoke(type, value);
-        } catch (Exception e) {
-        }
-        Date date = Dates.toDate(value);
-        if (date == null) {
-            throw Asserts.argument(source);
+        /* 目标类型解析（如 java.sql.Date.valueOf） */
+        Method parser = PARSERS.get(Reflects.getRawClass(type));
+        if (parser != null) {
+            try {
+                return (Date) parser.invoke(null, source);
+            } catch (Exception e) {
+            }
         }
-        return date;
+        return Dates.toDate(source);
     }
 
     public String toString() {
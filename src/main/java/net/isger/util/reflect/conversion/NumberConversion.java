@@ -1,14 +1,58 @@
 package net.isger.util.reflect.conversion;
 
 import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import net.isger.util.Reflects;
 import net.isger.util.reflect.Converter;
 
-public class NumberConversion implements Conversion {
+public class NumberConversion implements TryConversion {
 
     public static final NumberConversion CONVERSION = new NumberConversion();
 
+    private static final int OTHER = 0;
+
+    private static final int BOOLEAN = 1;
+
+    private static final int CHARACTER = 2;
+
+    private static final int SHORT = 3;
+
+    private static final int INTEGER = 4;
+
+    private static final int LONG = 5;
+
+    private static final int FLOAT = 6;
+
+    private static final int DOUBLE = 7;
+
+    /** 不可直接解析（回退浮点解析，Long.MIN_VALUE 亦经浮点解析得到） */
+    static final long UNPARSED = Long.MIN_VALUE;
+
+    /** 目标种类 */
+    private static final Map<Class<?>, Integer> KINDS;
+
+    /** 目标包装类（按种类） */
+    private static final Class<?>[] WRAPPERS = { null, Boolean.class,
+            Character.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class };
+
+    static {
+        KINDS = new HashMap<Class<?>, Integer>();
+        for (int kind = BOOLEAN; kind < WRAPPERS.length; kind++) {
+            KINDS.put(WRAPPERS[kind], kind);
+        }
+        KINDS.put(Boolean.TYPE, BOOLEAN);
+        KINDS.put(Character.TYPE, CHARACTER);
+        KINDS.put(Short.TYPE, SHORT);
+        KINDS.put(Integer.TYPE, INTEGER);
+        KINDS.put(Long.TYPE, LONG);
+        KINDS.put(Float.TYPE, FLOAT);
+        KINDS.put(Double.TYPE, DOUBLE);
+    }
+
     private NumberConversion() {
     }
 
@@ -22,47 +66,333 @@ public class NumberConversion implements Conversion {
 
     public Object convert(Type type, Object value) {
         Class<?> rawClass = Reflects.getRawClass(type);
-        Number source;
         if (value == null) {
             return Converter.defaultValue(rawClass);
-        } else if (value instanceof Number) {
-            source = (Number) value;
+        }
+        Integer kind = KINDS.get(rawClass);
+        return convert(kind == null ? OTHER : kind, value);
+    }
+
+    public Object tryConvert(Type type, Object value) {
+        if (value instanceof Collection || value instanceof Map
+                || value != null && value.getClass().isArray()
+                        && !(value instanceof byte[])) {
+            return UNSUPPORTED;
+        }
+        /* 空白及无数字文本（其余非十进制文本如 1d、0x1p3 仍交由解析判定） */
+        if ((value instanceof CharSequence || value instanceof byte[])
+                && !isNumeric(value) && !hasDigit(value)) {
+            return UNCONVERTED;
+        }
+        try {
+            return convert(type, value);
+        } catch (NumberFormatException e) {
+            return UNCONVERTED;
+        }
+    }
+
+    /**
+     * 按目标种类转换
+     *
+     * @param kind
+     * @param value
+     * @return
+     */
+    private Object convert(int kind, Object value) {
+        if (value instanceof Number) {
+            /* 同类数值无需转换 */
+            if (value.getClass() == WRAPPERS[kind]) {
+                return value;
+            }
+            return toNumber(kind, (Number) value);
         } else if (value instanceof Boolean) {
-            source = (Boolean) value ? 1 : 0;
-        } else if (value instanceof byte[]) {
-            source = Double.parseDouble(new String((byte[]) value));
-        } else {
-            source = Double.parseDouble(value.toString().trim());
-        }
-        if (Boolean.class.isAssignableFrom(rawClass)
-                || Boolean.TYPE.isAssignableFrom(rawClass)) {
-            return source.intValue() != 0;
+            return toNumber(kind, (Boolean) value ? 1L : 0L);
         }
-        if (Character.class.isAssignableFrom(rawClass)
-                || Character.TYPE.isAssignableFrom(rawClass)) {
-            return (char) source.byteValue();
+        Object source = value instanceof CharSequence
+                || value instanceof byte[] ? value : value.toString();
+        switch (kind) {
+        case FLOAT:
+            return Float.parseFloat(toString(source).trim());
+        case DOUBLE:
+            return Double.parseDouble(toString(source).trim());
         }
-        if (Short.class.isAssignableFrom(rawClass)
-                || Short.TYPE.isAssignableFrom(rawClass)) {
-            return source.shortValue();
+        /* 整数直接解析（小数、指数等回退浮点解析） */
+        long result = parseLong(source);
+        if (result == UNPARSED) {
+            return toNumber(kind,
+                    Double.valueOf(Double.parseDouble(toString(source).trim())));
         }
-        if (Integer.class.isAssignableFrom(rawClass)
-                || Integer.TYPE.isAssignableFrom(rawClass)) {
+        return toNumber(kind, result);
+    }
+
+    /**
+     * 数值转换（不经浮点中转）
+     *
+     * @param kind
+     * @param source
+     * @return
+     */
+    private Object toNumber(int kind, Number source) {
+        switch (kind) {
+        case BOOLEAN:
+            return source.intValue() != 0;
+        case CHARACTER:
+            return (char) source.byteValue();
+        case SHORT:
+            return source.shortValue();
+        case LONG:
+            return source.longValue();
+        case FLOAT:
+            return source.floatValue();
+        case DOUBLE:
+            return source.doubleValue();
+        default:
             return source.intValue();
         }
-        if (Long.class.isAssignableFrom(rawClass)
-                || Long.TYPE.isAssignableFrom(rawClass)) {
-            return source.longValue();
+    }
+
+    /**
+     * 整数转换（超出整型范围时同浮点截断取边界值）
+     *
+     * @param kind
+     * @param source
+     * @return
+     */
+    private Object toNumber(int kind, long source) {
+        int value = source > Integer.MAX_VALUE ? Integer.MAX_VALUE
+                : source < Integer.MIN_VALUE ? Integer.MIN_VALUE
+                        : (int) source;
+        switch (kind) {
+        case BOOLEAN:
+            return source != 0;
+        case CHARACTER:
+            return (char) (byte) value;
+        case SHORT:
+            return (short) value;
+        case LONG:
+            return source;
+        case FLOAT:
+            return (float) source;
+        case DOUBLE:
+            return (double) source;
+        default:
+            return value;
         }
-        if (Float.class.isAssignableFrom(rawClass)
-                || Float.TYPE.isAssignableFrom(rawClass)) {
-            return source.floatValue();
+    }
+
+    /**
+     * 解析整数（忽略首尾空白，非整数或溢出时返回 UNPARSED）
+     *
+     * @param source
+     *            字符序列或字节数组
+     * @return
+     */
+    static long parseLong(Object source) {
+        int begin = 0;
+        int end = length(source);
+        while (begin < end && charAt(source, begin) <= ' ') {
+            begin++;
         }
-        if (Double.class.isAssignableFrom(rawClass)
-                || Double.TYPE.isAssignableFrom(rawClass)) {
-            return source.doubleValue();
+        while (end > begin && charAt(source, end - 1) <= ' ') {
+            end--;
+        }
+        if (begin == end) {
+            return UNPARSED;
+        }
+        boolean negative = false;
+        char c = charAt(source, begin);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            if (++begin == end) {
+                return UNPARSED;
+            }
+        }
+        long result = 0;
+        int digit;
+        for (int i = begin; i < end; i++) {
+            digit = charAt(source, i) - '0';
+            if (digit < 0 || digit > 9
+                    || result < (Long.MIN_VALUE + digit) / 10) {
+                return UNPARSED;
+            }
+            result = result * 10 - digit;
+        }
+        if (negative) {
+            return result;
+        }
+        return result == Long.MIN_VALUE ? UNPARSED : -result;
+    }
+
+    /**
+     * 转换整型（批量转换用，避免装箱）
+     *
+     * @param value
+     * @return
+     */
+    static int toInt(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        } else if (value instanceof CharSequence) {
+            long result = parseLong(value);
+            if (result != UNPARSED) {
+                return result > Integer.MAX_VALUE ? Integer.MAX_VALUE
+                        : result < Integer.MIN_VALUE ? Integer.MIN_VALUE
+                                : (int) result;
+            }
+        }
+        return ((Number) Converter.convert(Integer.TYPE, value)).intValue();
+    }
+
+    /**
+     * 转换长整型（批量转换用，避免装箱）
+     *
+     * @param value
+     * @return
+     */
+    static long toLong(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        } else if (value instanceof CharSequence) {
+            long result = parseLong(value);
+            if (result != UNPARSED) {
+                return result;
+            }
+        }
+        return ((Number) Converter.convert(Long.TYPE, value)).longValue();
+    }
+
+    /**
+     * 转换单精度（批量转换用，避免装箱）
+     *
+     * @param value
+     * @return
+     */
+    static float toFloat(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).floatValue();
+        }
+        return ((Number) Converter.convert(Float.TYPE, value)).floatValue();
+    }
+
+    /**
+     * 转换双精度（批量转换用，避免装箱）
+     *
+     * @param value
+     * @return
+     */
+    static double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof String && isNumeric(value)) {
+            try {
+                return Double.parseDouble(((String) value).trim());
+            } catch (NumberFormatException e) {
+            }
+        }
+        return ((Number) Converter.convert(Double.TYPE, value)).doubleValue();
+    }
+
+    /**
+     * 数值文本（十进制数值或带符号的 NaN、Infinity）
+     *
+     * @param source
+     *            字符序列或字节数组
+     * @return
+     */
+    static boolean isNumeric(Object source) {
+        if (isDecimal(source)) {
+            return true;
+        }
+        String value = toString(source).trim();
+        if (value.startsWith("+") || value.startsWith("-")) {
+            value = value.substring(1);
+        }
+        return value.equals("NaN") || value.equals("Infinity");
+    }
+
+    /**
+     * 十进制数值文本（忽略首尾空白，可选符号、至多一个小数点及可选指数）
+     *
+     * @param source
+     *            字符序列或字节数组
+     * @return
+     */
+    static boolean isDecimal(Object source) {
+        int begin = 0;
+        int end = length(source);
+        while (begin < end && charAt(source, begin) <= ' ') {
+            begin++;
+        }
+        while (end > begin && charAt(source, end - 1) <= ' ') {
+            end--;
+        }
+        if (begin < end && (charAt(source, begin) == '-'
+                || charAt(source, begin) == '+')) {
+            begin++;
+        }
+        int digits = 0;
+        boolean point = false;
+        int i = begin;
+        char c;
+        for (; i < end; i++) {
+            c = charAt(source, i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        } else if (i < end && (charAt(source, i) == 'e'
+                || charAt(source, i) == 'E')) {
+            if (++i < end && (charAt(source, i) == '-'
+                    || charAt(source, i) == '+')) {
+                i++;
+            }
+            begin = i;
+            while (i < end && charAt(source, i) >= '0'
+                    && charAt(source, i) <= '9') {
+                i++;
+            }
+            if (i == begin) {
+                return false;
+            }
         }
-        return source.intValue();
+        return i == end;
+    }
+
+    private static int length(Object source) {
+        return source instanceof byte[] ? ((byte[]) source).length
+                : ((CharSequence) source).length();
+    }
+
+    private static char charAt(Object source, int index) {
+        return source instanceof byte[] ? (char) (((byte[]) source)[index] & 0xff)
+                : ((CharSequence) source).charAt(index);
+    }
+
+    /**
+     * 含数字文本
+     *
+     * @param source
+     * @return
+     */
+    private static boolean hasDigit(Object source) {
+        String value = toString(source);
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isDigit(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String toString(Object source) {
+        return source instanceof byte[] ? new String((byte[]) source)
+                : source.toString();
     }
 
     public String toString() {
@@ -0,0 +1,28 @@
+package net.isger.util.reflect.conversion;
+
+import java.lang.reflect.Type;
+
+/**
+ * 尝试转换（转换失败时返回标记而非抛出异常）
+ * 
+ * @author issing
+ *
+ */
+public interface TryConversion extends Conversion {
+
+    /** 当前值无法转换 */
+    public static final Object UNCONVERTED = new Object();
+
+    /** 不支持源类型（同源类型均无法转换，可缓存） */
+    public static final Object UNSUPPORTED = new Object();
+
+    /**
+     * 尝试转换类型
+     * 
+     * @param type
+     * @param value
+     * @return 转换结果、UNCONVERTED 或 UNSUPPORTED
+     */
+    public Object tryConvert(Type type, Object value);
+
+}
@@ -2,9 +2,15 @@ package net.isger.util.scan;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URLDecoder;
 import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import org.slf4j.Logger;
@@ -16,10 +22,16 @@ public class JarScan extends AbstractScan {
 
     private static final String PROTOCOL = "jar";
 
+    private static final String FILE_PREFIX = "file:";
+
     private static final Logger LOG;
 
+    /** 条目索引缓存（JAR文件路径 - 条目索引） */
+    private static final Map<String, Index> INDEXES;
+
     static {
         LOG = LoggerFactory.getLogger(JarScan.class);
+        INDEXES = new ConcurrentHashMap<String, Index>();
     }
 
     protected String getProtocol() {
@@ -27,10 +39,10 @@ public class JarScan extends AbstractScan {
     }
 
     public List<String> scan(String path, ScanFilter filter) {
-        File workPath = null;
+        String workPath = "";
         int index = path.lastIndexOf("jar!/");
         if (index != -1) {
-            workPath = new File(path.substring(index + 5));
+            workPath = path.substring(index + 5).replaceAll("^/+|/+$", "");
             path = path.substring(0, index + 3);
         } else if (!path.endsWith(".jar")) {
             throw new IllegalStateException(
@@ -38,47 +50,188 @@ public class JarScan extends AbstractScan {
         }
 
         List<String> result = new ArrayList<String>();
+        Map<String, String[]> entries;
+        try {
+            entries = getIndex(path).entries;
+        } catch (IOException e) {
+            LOG.warn("Error scanning hicher from path {}", path, e);
+            return result;
+        }
+        File root = new File(workPath);
+        String directory;
+        String prefix;
+        for (Map.Entry<String, String[]> entry : entries.entrySet()) {
+            directory = entry.getKey();
+            if (!match(root, workPath, directory, filter)) {
+                continue;
+            }
+            prefix = directory.length() == workPath.length() ? "/"
+                    : "/" + directory.substring(workPath.length() == 0 ? 0
+                            : workPath.length() + 1) + "/";
+            for (String name : entry.getValue()) {
+                if (filter.accept(name)) {
+                    result.add(prefix + name);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 匹配目录（仅深度扫描时检测子目录）
+     *
+     * @param root
+     * @param workPath
+     * @param directory
+     * @param filter
+     * @return
+     */
+    private boolean match(File root, String workPath, String directory,
+            ScanFilter filter) {
+        if (directory.equals(workPath)) {
+            return true;
+        } else if (workPath.length() > 0 && !(directory.startsWith(workPath)
+                && directory.charAt(workPath.length()) == '/')) {
+            return false;
+        }
+        return filter.isDeep(root, new File(directory));
+    }
+
+    /**
+     * 获取条目索引（按JAR文件修改时间失效）
+     *
+     * @param path
+     * @return
+     * @throws IOException
+     */
+    private static Index getIndex(String path) throws IOException {
+        File file = getFile(path);
+        if (file == null) {
+            return makeIndex(path);
+        }
+        String key = file.getAbsolutePath();
+        long modified = file.lastModified();
+        long length = file.length();
+        Index index = INDEXES.get(key);
+        if (index == null || index.modified != modified
+                || index.length != length) {
+            index = makeIndex(file);
+            index.modified = modified;
+            index.length = length;
+            INDEXES.put(key, index);
+        }
+        return index;
+    }
+
+    /**
+     * 生成条目索引（读取中央目录，不解压条目）
+     *
+     * @param file
+     * @return
+     * @throws IOException
+     */
+    private static Index makeIndex(File file) throws IOException {
+        Index index = new Index();
+        ZipFile zip = new ZipFile(file);
+        try {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                index.add(entries.nextElement());
+            }
+        } finally {
+            zip.close();
+        }
+        return index.seal();
+    }
+
+    /**
+     * 生成条目索引（非本地文件，逐条读取流）
+     *
+     * @param path
+     * @return
+     * @throws IOException
+     */
+    private static Index makeIndex(String path) throws IOException {
+        Index index = new Index();
         ZipInputStream zis = null;
         try {
             zis = Files.openJarIS(path);
             ZipEntry entry = null;
             while ((entry = zis.getNextEntry()) != null) {
-                if (match(workPath, entry, filter)) {
-                    result.add(getName(workPath, new File(entry.getName())));
-                }
+                index.add(entry);
             }
-        } catch (IOException e) {
-            LOG.warn("Error scanning hicher from path {}", path, e);
         } finally {
             Files.close(zis);
         }
-        return result;
+        return index.seal();
     }
 
-    protected boolean match(File path, ZipEntry entry, ScanFilter filter) {
-        boolean isMatch;
-        if (isMatch = !entry.isDirectory()) {
-            File sourceFile = new File(entry.getName());
-            File parentPath = sourceFile.getParentFile();
-            // toMatchPath: {
-            if (parentPath == null) {
-                isMatch = path == null;
-            } else if (parentPath.getAbsolutePath()
-                    .startsWith(path.getAbsolutePath())) {
-                if (!filter.isDeep(path, parentPath)) {
-                    isMatch = parentPath.equals(path);
-                }
-            } else {
-                return false;
+    /**
+     * 获取本地JAR文件
+     *
+     * @param path
+     * @return
+     */
+    private static File getFile(String path) {
+        File file = new File(path);
+        if (!file.isFile() && path.startsWith(FILE_PREFIX)) {
+            try {
+                file = new File(URLDecoder.decode(
+                        path.substring(FILE_PREFIX.length()), "UTF-8"));
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        return file.isFile() ? file : null;
+    }
+
+    /**
+     * 条目索引（目录 - 文件名）
+     *
+     * @author issing
+     *
+     */
+    private static class Index {
+
+        private long modified;
+
+        private long length;
+
+        private Map<String, List<String>> directories;
+
+        private Map<String, String[]> entries;
+
+        private Index() {
+            directories = new LinkedHashMap<String, List<String>>();
+        }
+
+        private void add(ZipEntry entry) {
+            if (entry.isDirectory()) {
+                return;
+            }
+            String name = entry.getName();
+            int index = name.lastIndexOf('/');
+            String directory = index == -1 ? "" : name.substring(0, index);
+            List<String> names = directories.get(directory);
+            if (names == null) {
+                directories.put(directory, names = new ArrayList<String>());
+            }
+            names.add(name.substring(index + 1));
+        }
+
+        private Index seal() {
+            entries = new LinkedHashMap<String, String[]>(
+                    directories.size() * 4 / 3 + 1);
+            List<String> names;
+            for (Map.Entry<String, List<String>> entry : directories
+                    .entrySet()) {
+                names = entry.getValue();
+                entries.put(entry.getKey(),
+                        names.toArray(new String[names.size()]));
             }
-            // isMatch = filter.isDeep(parentPath.getPath())
-            // ? parentPath.getAbsolutePath()
-            // .startsWith(path.getAbsolutePath())
-            // : parentPath.equals(path);
-            // }
-            return isMatch && filter.accept(sourceFile.getName());
+            directories = null;
+            return this;
         }
-        return isMatch;
     }
 
 }
@@ -0,0 +1,149 @@
+package net.isger.util;
+
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import net.isger.util.hitch.Hitcher;
+import net.isger.util.scan.Scan;
+import net.isger.util.scan.ScanFilter;
+
+public class HitchersTest extends TestCase {
+
+    /** 扫描次数（路径 - 次数） */
+    private static final Map<String, AtomicInteger> SCANS;
+
+    /** 生成中重入 */
+    private static final AtomicBoolean REENTERED;
+
+    /** 重入所得搭载器 */
+    private static final AtomicReference<Hitcher> REENTRY;
+
+    private static final String SLOW_PATH = "net/isger/util/anno";
+
+    private static final String REENTRY_PATH = "net/isger/util/hitch";
+
+    private static final String[] PATHS = { "net/isger/util/sql",
+            "net/isger/util/config" };
+
+    static {
+        SCANS = new ConcurrentHashMap<String, AtomicInteger>();
+        REENTERED = new AtomicBoolean();
+        REENTRY = new AtomicReference<Hitcher>();
+        for (String path : new String[] { SLOW_PATH, REENTRY_PATH, PATHS[0],
+                PATHS[1] }) {
+            SCANS.put(path, new AtomicInteger());
+        }
+        Scans.addScan(new CountScan());
+    }
+
+    public HitchersTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(HitchersTest.class);
+    }
+
+    public void testConcurrent() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final Hitcher[] hitchers = new Hitcher[16];
+        Thread[] threads = new Thread[hitchers.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    hitchers[index] = Hitchers.getHitcher(SLOW_PATH);
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        /* 各线程等待同一生成任务 */
+        assertNotNull(hitchers[0]);
+        for (Hitcher hitcher : hitchers) {
+            assertSame(hitchers[0], hitcher);
+        }
+        assertSame(hitchers[0], Hitchers.getHitcher(SLOW_PATH));
+        assertEquals(getScans(SLOW_PATH), SCANS.get(SLOW_PATH).get());
+    }
+
+    public void testReentry() {
+        Hitcher hitcher = Hitchers.getHitcher(REENTRY_PATH);
+        /* 生成线程重入时直接生成，不进入注册表 */
+        Hitcher reentry = REENTRY.get();
+        assertNotNull(reentry);
+        assertNotSame(hitcher, reentry);
+        assertSame(hitcher, Hitchers.getHitcher(REENTRY_PATH));
+        assertEquals(2 * getScans(REENTRY_PATH),
+                SCANS.get(REENTRY_PATH).get());
+    }
+
+    public void testParallel() {
+        List<String> paths = Arrays.asList(PATHS[0], PATHS[1], PATHS[0]);
+        Map<String, Hitcher> hitchers = Hitchers.getHitchers(paths, 3);
+        assertEquals(Arrays.asList(PATHS), Arrays.asList(
+                hitchers.keySet().toArray(new String[hitchers.size()])));
+        for (String path : PATHS) {
+            assertSame(Hitchers.getHitcher(path), hitchers.get(path));
+            assertEquals(getScans(path), SCANS.get(path).get());
+        }
+    }
+
+    /**
+     * 单次生成扫描次数（路径所在类路径条目个数）
+     *
+     * @param path
+     * @return
+     */
+    private static int getScans(String path) {
+        return Reflects.getResources(Scans.class, path).size();
+    }
+
+    /**
+     * 计数扫描（慢速路径延迟，重入路径生成中重入一次）
+     */
+    public static class CountScan implements Scan {
+
+        public List<String> scan(URL url, ScanFilter filter) {
+            String name = url.toString().replaceAll("/+$", "");
+            for (Map.Entry<String, AtomicInteger> entry : SCANS.entrySet()) {
+                String path = entry.getKey();
+                if (!name.endsWith("/" + path)) {
+                    continue;
+                }
+                entry.getValue().incrementAndGet();
+                if (path.equals(SLOW_PATH)) {
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                } else if (path.equals(REENTRY_PATH)
+                        && REENTERED.compareAndSet(false, true)) {
+                    REENTRY.set(Hitchers.getHitcher(path));
+                }
+            }
+            return null;
+        }
+
+    }
+
+}
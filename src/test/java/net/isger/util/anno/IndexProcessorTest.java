@@ -0,0 +1,202 @@
+package net.isger.util.anno;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import net.isger.util.Reflects;
+import net.isger.util.reflect.BoundField;
+
+public class IndexProcessorTest extends TestCase {
+
+    private static final String CLASS_NAME = "demo.Bean";
+
+    private static final String SOURCE = "package demo;\n"
+            + "import net.isger.util.anno.*;\n"
+            + "public class Bean extends Base {\n"
+            + "    public static int counter;\n"
+            + "    private final int constant = 1;\n"
+            + "    private transient int temporary;\n"
+            + "    private String name;\n"
+            + "    @Alias(\"years\") private int age;\n"
+            + "    @Affix(\"-x\") @Infect private String label;\n"
+            + "    @Ignore private String skipped;\n"
+            + "}\n";
+
+    private static final String BASE = "package demo;\n"
+            + "public class Base {\n"
+            + "    protected long id;\n"
+            + "}\n";
+
+    private File root;
+
+    public IndexProcessorTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(IndexProcessorTest.class);
+    }
+
+    protected void setUp() throws Exception {
+        root = File.createTempFile("index", "");
+        root.delete();
+        root.mkdirs();
+    }
+
+    protected void tearDown() throws Exception {
+        delete(root);
+    }
+
+    public void testIndex() throws Exception {
+        Properties index = load(compile("indexed", true));
+        assertEquals("", index.getProperty(CLASS_NAME));
+        assertEquals("", index.getProperty("demo.Base"));
+        assertEquals("id", index.getProperty("demo.Base#0"));
+        /* 静态、终态、瞬态字段不入索引 */
+        assertEquals("name", index.getProperty("demo.Bean#0"));
+        assertEquals("age", index.getProperty("demo.Bean#1"));
+        assertEquals("years", index.getProperty("demo.Bean#1.alias"));
+        assertEquals("label", index.getProperty("demo.Bean#2"));
+        assertEquals("-x", index.getProperty("demo.Bean#2.affix"));
+        assertEquals("true", index.getProperty("demo.Bean#2.infect"));
+        assertEquals("skipped", index.getProperty("demo.Bean#3"));
+        assertEquals(Ignore.Mode.EXCLUDE_NAME,
+                index.getProperty("demo.Bean#3.ignore"));
+        assertNull(index.getProperty("demo.Bean#4"));
+    }
+
+    public void testBoundFields() throws Exception {
+        /* 索引字段与反射字段一致 */
+        assertEquals(describe(getBoundFields(compile("reflected", false))),
+                describe(getBoundFields(compile("indexed", true))));
+    }
+
+    public void testStale() throws Exception {
+        File output = compile("stale", true);
+        Properties index = load(output);
+        index.setProperty("demo.Bean#0", "missing");
+        store(output, index);
+        /* 索引失效时回退反射 */
+        Map<String, List<BoundField>> fields = getBoundFields(output);
+        assertFalse(fields.containsKey("missing"));
+        assertEquals(Arrays.asList("name", "age", "label", "years", "id"),
+                new ArrayList<String>(fields.keySet()));
+        assertEquals(describe(getBoundFields(compile("reflected", false))),
+                describe(fields));
+    }
+
+    public void testIndexed() throws Exception {
+        File output = compile("alias", true);
+        Properties index = load(output);
+        index.setProperty("demo.Bean#0.alias", "title");
+        store(output, index);
+        /* 有效索引优先于反射 */
+        assertTrue(getBoundFields(output).containsKey("title"));
+    }
+
+    private File compile(String name, boolean indexed) throws Exception {
+        File source = new File(root, "src/demo");
+        source.mkdirs();
+        File bean = write(new File(source, "Bean.java"), SOURCE);
+        File base = write(new File(source, "Base.java"), BASE);
+        File output = new File(root, name);
+        output.mkdirs();
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> args = new ArrayList<String>(Arrays.asList("-classpath",
+                System.getProperty("java.class.path"), "-d",
+                output.getPath()));
+        if (indexed) {
+            args.addAll(Arrays.asList("-processor",
+                    IndexProcessor.class.getName()));
+        } else {
+            args.add("-proc:none");
+        }
+        args.add(bean.getPath());
+        args.add(base.getPath());
+        assertEquals(0,
+                compiler.run(null, null, null, args.toArray(new String[0])));
+        return output;
+    }
+
+    private static Map<String, List<BoundField>> getBoundFields(File output)
+            throws Exception {
+        ClassLoader loader = new URLClassLoader(
+                new URL[] { output.toURI().toURL() },
+                IndexProcessorTest.class.getClassLoader());
+        return Reflects.getBoundFields(loader.loadClass(CLASS_NAME));
+    }
+
+    private static List<String> describe(
+            Map<String, List<BoundField>> boundFields) {
+        List<String> result = new ArrayList<String>();
+        for (Map.Entry<String, List<BoundField>> entry : boundFields
+                .entrySet()) {
+            for (BoundField field : entry.getValue()) {
+                result.add(entry.getKey() + "=" + field.getField() + ","
+                        + field.getAlias() + "," + field.getAffix() + ","
+                        + field.isInject() + "," + field.isInfect());
+            }
+        }
+        return result;
+    }
+
+    private static File write(File file, String content) throws Exception {
+        OutputStream os = new FileOutputStream(file);
+        try {
+            os.write(content.getBytes("UTF-8"));
+        } finally {
+            os.close();
+        }
+        return file;
+    }
+
+    private static Properties load(File output) throws Exception {
+        Properties index = new Properties();
+        InputStream is = new FileInputStream(
+                new File(output, IndexKeys.INDEX_RESOURCE));
+        try {
+            index.load(is);
+        } finally {
+            is.close();
+        }
+        return index;
+    }
+
+    private static void store(File output, Properties index)
+            throws Exception {
+        OutputStream os = new FileOutputStream(
+                new File(output, IndexKeys.INDEX_RESOURCE));
+        try {
+            index.store(os, null);
+        } finally {
+            os.close();
+        }
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+}
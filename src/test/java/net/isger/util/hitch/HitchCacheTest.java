@@ -0,0 +1,97 @@
+package net.isger.util.hitch;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class HitchCacheTest extends TestCase {
+
+    private static final String PATH = "demo/p";
+
+    private File root;
+
+    private File file;
+
+    private File classes;
+
+    private ClassLoader loader;
+
+    public HitchCacheTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(HitchCacheTest.class);
+    }
+
+    protected void setUp() throws Exception {
+        root = File.createTempFile("cache", "");
+        root.delete();
+        classes = new File(root, "classes");
+        new File(classes, PATH).mkdirs();
+        file = new File(root, "cache/hitches.properties");
+        loader = new URLClassLoader(new URL[] { classes.toURI().toURL() },
+                null);
+    }
+
+    protected void tearDown() throws Exception {
+        delete(root);
+    }
+
+    public void testStore() {
+        HitchCache cache = new HitchCache(file, loader);
+        assertNull(cache.get(PATH));
+        cache.set(PATH, Arrays.asList("demo.p.AHitch", "demo.p.BHitch"));
+        cache.set("demo/none", Arrays.asList("demo.none.AHitch"));
+        assertTrue(file.isFile());
+        /* 临时文件已替换 */
+        assertEquals(1, file.getParentFile().list().length);
+        assertEquals(Arrays.asList("demo.p.AHitch", "demo.p.BHitch"),
+                new HitchCache(file, loader).get(PATH));
+        /* 无类路径条目的路径指纹为空串，仍可命中 */
+        assertEquals(Arrays.asList("demo.none.AHitch"),
+                new HitchCache(file, loader).get("demo/none"));
+        cache.set(PATH, Collections.<String> emptyList());
+        assertEquals(Collections.emptyList(),
+                new HitchCache(file, loader).get(PATH));
+    }
+
+    public void testInvalidate() {
+        HitchCache cache = new HitchCache(file, loader);
+        cache.set(PATH, Arrays.asList("demo.p.AHitch"));
+        assertEquals(Arrays.asList("demo.p.AHitch"), cache.get(PATH));
+        /* 类路径条目变更后指纹不符 */
+        File directory = new File(classes, PATH);
+        assertTrue(directory.setLastModified(
+                directory.lastModified() + 10000));
+        assertNull(cache.get(PATH));
+        assertNull(new HitchCache(file, loader).get(PATH));
+        cache.set(PATH, Arrays.asList("demo.p.BHitch"));
+        assertEquals(Arrays.asList("demo.p.BHitch"),
+                new HitchCache(file, loader).get(PATH));
+    }
+
+    public void testDisabled() {
+        HitchCache cache = new HitchCache(null, loader);
+        cache.set(PATH, Arrays.asList("demo.p.AHitch"));
+        assertNull(cache.get(PATH));
+        assertFalse(file.exists());
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+}
@@ -0,0 +1,153 @@
+package net.isger.util.hitch;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class HitchProcessorTest extends TestCase {
+
+    private File root;
+
+    private File output;
+
+    public HitchProcessorTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(HitchProcessorTest.class);
+    }
+
+    protected void setUp() throws Exception {
+        root = File.createTempFile("hitch", "");
+        root.delete();
+        output = new File(root, "classes");
+        output.mkdirs();
+    }
+
+    protected void tearDown() throws Exception {
+        delete(root);
+    }
+
+    public void testWrite() throws Exception {
+        compile("demo.p.AHitch", "demo.p.BHitch", "demo.p.Helper",
+                "demo.q.CHitch");
+        Properties index = load();
+        assertEquals(2, index.size());
+        assertEquals("demo.p.AHitch,demo.p.BHitch",
+                index.getProperty("demo/p"));
+        assertEquals("demo.q.CHitch", index.getProperty("demo/q"));
+    }
+
+    public void testMerge() throws Exception {
+        compile("demo.p.AHitch", "demo.p.BHitch");
+        /* 增量编译保留未参与编译的便车 */
+        compile("demo.p.CHitch");
+        assertEquals("demo.p.AHitch,demo.p.BHitch,demo.p.CHitch",
+                load().getProperty("demo/p"));
+    }
+
+    public void testStale() throws Exception {
+        compile("demo.p.AHitch", "demo.p.BHitch", "demo.q.CHitch");
+        /* 类文件已删除的便车剔除 */
+        new File(output, "demo/p/BHitch.class").delete();
+        new File(output, "demo/q/CHitch.class").delete();
+        compile("demo.p.AHitch");
+        Properties index = load();
+        assertEquals("demo.p.AHitch", index.getProperty("demo/p"));
+        assertNull(index.getProperty("demo/q"));
+    }
+
+    public void testHitchNames() throws Exception {
+        compile("demo.p.AHitch", "demo.p.BHitch");
+        assertEquals(Arrays.asList("demo.p.AHitch", "demo.p.BHitch"),
+                HitchIndex.getHitchNames(newLoader(), "demo/p"));
+        assertEquals(Arrays.asList("demo.p.AHitch", "demo.p.BHitch"),
+                HitchIndex.getHitchNames(newLoader(), "/demo/p/"));
+        /* 无该路径或条目未索引时回退扫描 */
+        assertNull(HitchIndex.getHitchNames(newLoader(), "demo/none"));
+        new File(output, HitchProcessor.INDEX_RESOURCE).delete();
+        assertNull(HitchIndex.getHitchNames(newLoader(), "demo/p"));
+    }
+
+    public void testStaleHitchNames() throws Exception {
+        compile("demo.p.AHitch", "demo.p.BHitch");
+        /* 索引便车类缺失时回退扫描 */
+        new File(output, "demo/p/BHitch.class").delete();
+        assertNull(HitchIndex.getHitchNames(newLoader(), "demo/p"));
+    }
+
+    private void compile(String... names) throws Exception {
+        List<String> args = new ArrayList<String>(Arrays.asList("-classpath",
+                output.getPath() + File.pathSeparator
+                        + System.getProperty("java.class.path"),
+                "-d", output.getPath(), "-processor",
+                HitchProcessor.class.getName()));
+        File source;
+        String simpleName;
+        for (String name : names) {
+            source = new File(root, "src/" + name.replace('.', '/') + ".java");
+            source.getParentFile().mkdirs();
+            simpleName = name.substring(name.lastIndexOf('.') + 1);
+            write(source, "package " + name.substring(0, name.lastIndexOf('.'))
+                    + ";\npublic class " + simpleName
+                    + " { public static void hitch(Object source) {} }\n");
+            args.add(source.getPath());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0,
+                compiler.run(null, null, null, args.toArray(new String[0])));
+    }
+
+    private ClassLoader newLoader() throws Exception {
+        return new URLClassLoader(new URL[] { output.toURI().toURL() },
+                getClass().getClassLoader());
+    }
+
+    private Properties load() throws Exception {
+        Properties index = new Properties();
+        InputStream is = new FileInputStream(
+                new File(output, HitchProcessor.INDEX_RESOURCE));
+        try {
+            index.load(is);
+        } finally {
+            is.close();
+        }
+        return index;
+    }
+
+    private static void write(File file, String content) throws Exception {
+        OutputStream os = new FileOutputStream(file);
+        try {
+            os.write(content.getBytes("UTF-8"));
+        } finally {
+            os.close();
+        }
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+}
@@ -0,0 +1,108 @@
+package net.isger.util.reflect;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import net.isger.util.Reflects;
+
+public class BulkBindingTest extends TestCase {
+
+    private static final Object[] COLUMNS = { "id", "name", "score" };
+
+    public BulkBindingTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(BulkBindingTest.class);
+    }
+
+    public void testParallel() {
+        Object[] grid = makeGrid(BulkBinding.THRESHOLD + BulkBinding.CHUNK);
+        List<Score> expected = Reflects.toList(Score.class, grid);
+        List<Score> actual = BulkBinding.toList(Score.class, COLUMNS,
+                (Object[][]) grid[1], null, BulkBinding.CHUNK);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+        assertEquals(expected, Reflects.toParallelList(Score.class, grid));
+    }
+
+    public void testContextLoader() {
+        Object[] grid = makeGrid(BulkBinding.THRESHOLD + BulkBinding.CHUNK);
+        /* 预先创建工作线程（避免沿用创建时继承的上下文类加载器） */
+        BulkBinding.toList(Score.class, COLUMNS, (Object[][]) grid[1], null,
+                BulkBinding.CHUNK);
+        Loaded.LOADERS.clear();
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        ClassLoader loader = new URLClassLoader(new URL[0], original);
+        thread.setContextClassLoader(loader);
+        List<Loaded> actual;
+        try {
+            actual = BulkBinding.toList(Loaded.class, COLUMNS,
+                    (Object[][]) grid[1], null, BulkBinding.CHUNK);
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+        assertEquals(((Object[][]) grid[1]).length, actual.size());
+        /* 工作线程均沿用调用方上下文类加载器 */
+        assertEquals(1, Loaded.LOADERS.size());
+        assertSame(loader, Loaded.LOADERS.iterator().next());
+    }
+
+    private static Object[] makeGrid(int size) {
+        Object[][] rows = new Object[size][];
+        for (int i = 0; i < size; i++) {
+            rows[i] = new Object[] { i, "name" + i, i * 0.5 };
+        }
+        return new Object[] { COLUMNS, rows };
+    }
+
+    public static class Score {
+
+        private int id;
+
+        private String name;
+
+        private double score;
+
+        public int hashCode() {
+            return id;
+        }
+
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Score)) {
+                return false;
+            }
+            Score other = (Score) obj;
+            return id == other.id && name.equals(other.name)
+                    && score == other.score;
+        }
+
+        public String toString() {
+            return id + ":" + name + ":" + score;
+        }
+
+    }
+
+    public static class Loaded extends Score {
+
+        private static final Set<ClassLoader> LOADERS = Collections
+                .newSetFromMap(new ConcurrentHashMap<ClassLoader, Boolean>());
+
+        public Loaded() {
+            LOADERS.add(Thread.currentThread().getContextClassLoader());
+        }
+
+    }
+
+}
@@ -0,0 +1,165 @@
+package net.isger.util.reflect;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import net.isger.util.anno.Memoize;
+
+public class CachedStandinTest extends TestCase {
+
+    public CachedStandinTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(CachedStandinTest.class);
+    }
+
+    public void testMemoize() {
+        Calculator standin = new Calculator(0);
+        Calculate source = standin.getSource();
+        assertEquals(9, source.square(3));
+        assertEquals(9, source.square(3));
+        assertEquals(16, source.square(4));
+        assertEquals(2, standin.performs.get());
+        assertEquals(1, standin.getHits());
+        assertEquals(2, standin.getMisses());
+        /* 未标注方法不缓存 */
+        source.count();
+        source.count();
+        assertEquals(4, standin.performs.get());
+        assertEquals(2, standin.size());
+    }
+
+    public void testEviction() {
+        Calculator standin = new Calculator(2);
+        Calculate source = standin.getSource();
+        source.square(1);
+        source.square(2);
+        source.square(1);
+        source.square(3);
+        assertEquals(2, standin.size());
+        assertEquals(1, standin.getEvictions());
+        /* 最久未用者淘汰 */
+        int performs = standin.performs.get();
+        source.square(1);
+        assertEquals(performs, standin.performs.get());
+        source.square(2);
+        assertEquals(performs + 1, standin.performs.get());
+    }
+
+    public void testExpiry() throws Exception {
+        Calculator standin = new Calculator(0, 50, TimeUnit.MILLISECONDS);
+        Calculate source = standin.getSource();
+        source.square(5);
+        source.square(5);
+        assertEquals(1, standin.performs.get());
+        Thread.sleep(100);
+        source.square(5);
+        assertEquals(2, standin.performs.get());
+    }
+
+    public void testSweep() throws Exception {
+        Calculator standin = new Calculator(0, 50, TimeUnit.MILLISECONDS);
+        Calculate source = standin.getSource();
+        source.square(1);
+        source.square(2);
+        assertEquals(2, standin.size());
+        Thread.sleep(100);
+        /* 写入时清理其他过期结果 */
+        source.square(3);
+        assertEquals(1, standin.size());
+        assertEquals(2, standin.getEvictions());
+    }
+
+    public void testException() {
+        Calculator standin = new Calculator(0);
+        Calculate source = standin.getSource();
+        for (int i = 1; i <= 2; i++) {
+            try {
+                source.square(-1);
+                fail();
+            } catch (IllegalArgumentException e) {
+            }
+            /* 异常结果不缓存 */
+            assertEquals(i, standin.performs.get());
+        }
+        assertEquals(0, standin.size());
+    }
+
+    public void testCoalesce() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Calculator standin = new Calculator(0) {
+            protected Object perform(Method method, Object[] args) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.perform(method, args);
+            }
+        };
+        final Calculate source = standin.getSource();
+        final AtomicInteger failures = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    if (source.square(7) != 49) {
+                        failures.incrementAndGet();
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        Thread.sleep(200);
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, failures.get());
+        assertEquals(1, standin.performs.get());
+        assertEquals(threads.length, standin.getMisses());
+    }
+
+    public static interface Calculate {
+
+        @Memoize
+        public int square(int value);
+
+        public int count();
+
+    }
+
+    private static class Calculator extends CachedStandin<Calculate> {
+
+        private final AtomicInteger performs = new AtomicInteger();
+
+        public Calculator(int capacity) {
+            super(Calculate.class, capacity);
+        }
+
+        public Calculator(int capacity, long ttl, TimeUnit unit) {
+            super(Calculate.class, capacity, ttl, unit);
+        }
+
+        protected Object perform(Method method, Object[] args) {
+            int count = performs.incrementAndGet();
+            if ("count".equals(method.getName())) {
+                return count;
+            }
+            int value = (Integer) args[0];
+            if (value < 0) {
+                throw new IllegalArgumentException("negative " + value);
+            }
+            return value * value;
+        }
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package net.isger.util.reflect;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import net.isger.util.Reflects;
+
+public class ClassCacheTest extends TestCase {
+
+    public ClassCacheTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(ClassCacheTest.class);
+    }
+
+    public void testCapacity() {
+        ClassCache<String> cache = new ClassCache<String>("test", 2);
+        cache.put(String.class, "string");
+        cache.put(Integer.class, "integer");
+        assertEquals("string", cache.get(String.class));
+        cache.put(Long.class, "long");
+        /* 最久未用者淘汰 */
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(Integer.class));
+        assertEquals("string", cache.get(String.class));
+        assertEquals("long", cache.get(Long.class));
+    }
+
+    public void testClear() {
+        ClassCache<String> cache = new ClassCache<String>("test");
+        cache.put(String.class, "string");
+        cache.clear();
+        assertNull(cache.get(String.class));
+        cache.put(String.class, "again");
+        assertEquals("again", cache.get(String.class));
+        cache = new ClassCache<String>("test", 2);
+        cache.put(String.class, "string");
+        cache.put(Integer.class, "integer");
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(String.class));
+        cache.put(Long.class, "long");
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    public void testClearCaches() {
+        TypeToken<?> token = TypeToken.get(String.class);
+        assertSame(token, TypeToken.get(String.class));
+        assertTrue(Reflects.getCaches().contains(TypeToken.getCache()));
+        Reflects.clearCaches();
+        assertNull(TypeToken.getCache().get(String.class));
+        assertNotSame(token, TypeToken.get(String.class));
+    }
+
+}
@@ -0,0 +1,140 @@
+package net.isger.util.reflect;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import net.isger.util.reflect.ConversionMonitor.Statistic;
+import net.isger.util.reflect.conversion.NumberConversion;
+
+public class ConversionMonitorTest extends TestCase {
+
+    private ConversionMonitor monitor;
+
+    private boolean enabled;
+
+    public ConversionMonitorTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(ConversionMonitorTest.class);
+    }
+
+    protected void setUp() throws Exception {
+        monitor = ConversionMonitor.getMonitor();
+        enabled = monitor.isEnabled();
+        monitor.reset();
+    }
+
+    protected void tearDown() throws Exception {
+        monitor.setEnabled(enabled);
+        monitor.reset();
+    }
+
+    public void testRecord() {
+        ConversionMonitor.record(String.class, Integer.class,
+                NumberConversion.CONVERSION, true, 100);
+        ConversionMonitor.record(String.class, Integer.class,
+                NumberConversion.CONVERSION, false, 3000);
+        ConversionMonitor.record(String.class, Long.class,
+                NumberConversion.CONVERSION, true, 0);
+        List<Statistic> snapshot = monitor.getSnapshot();
+        assertEquals(2, snapshot.size());
+        Statistic statistic = snapshot.get(0);
+        assertEquals("java.lang.String", statistic.getSource());
+        assertEquals("java.lang.Integer", statistic.getTarget());
+        assertEquals("number", statistic.getConversion());
+        assertEquals(1, statistic.getHits());
+        assertEquals(1, statistic.getFailures());
+        assertEquals(2, statistic.getCount());
+        assertEquals(3100, statistic.getNanos());
+        assertEquals(1550, statistic.getMean());
+        /* 100ns 落入第 7 桶，3000ns 落入第 12 桶 */
+        long[] buckets = statistic.getBuckets();
+        assertEquals(1, buckets[7]);
+        assertEquals(1, buckets[12]);
+        assertEquals(128, statistic.getPercentile(50));
+        assertEquals(4096, statistic.getPercentile(99));
+        statistic = snapshot.get(1);
+        assertEquals("java.lang.Long", statistic.getTarget());
+        assertEquals(1, statistic.getBuckets()[0]);
+        monitor.reset();
+        assertEquals(0, monitor.getSnapshot().size());
+    }
+
+    public void testConverter() {
+        monitor.setEnabled(false);
+        Converter.convert(Integer.class, "12");
+        assertEquals(0, monitor.getSnapshot().size());
+        monitor.setEnabled(true);
+        assertEquals(Integer.valueOf(12), Converter.convert(Integer.class,
+                "12"));
+        boolean found = false;
+        for (Statistic statistic : monitor.getSnapshot()) {
+            if ("java.lang.String".equals(statistic.getSource())
+                    && "java.lang.Integer".equals(statistic.getTarget())) {
+                assertTrue(statistic.getHits() > 0);
+                found = true;
+            }
+        }
+        assertTrue(found);
+    }
+
+    public void testUnpinned() throws Exception {
+        URL location = Sample.class.getProtectionDomain().getCodeSource()
+                .getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[] { location }, null);
+        Class<?> sample = loader.loadClass(Sample.class.getName());
+        assertNotSame(Sample.class, sample);
+        ConversionMonitor.record(sample, String.class,
+                NumberConversion.CONVERSION, true, 10);
+        ConversionMonitor.record(Sample.class, String.class,
+                NumberConversion.CONVERSION, true, 10);
+        /* 同名类型合并统计 */
+        assertEquals(1, monitor.getSnapshot().size());
+        assertEquals(2, monitor.getSnapshot().get(0).getCount());
+        WeakReference<ClassLoader> reference = new WeakReference<ClassLoader>(
+                loader);
+        loader = null;
+        sample = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(reference.get());
+    }
+
+    public void testMBean() throws Exception {
+        monitor.setEnabled(true);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(ConversionMonitor.OBJECT_NAME);
+        assertTrue(server.isRegistered(name));
+        assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+        ConversionMonitor.record(String.class, Integer.class,
+                NumberConversion.CONVERSION, true, 100);
+        String[] statistics = (String[]) server.getAttribute(name,
+                "Statistics");
+        assertEquals(1, statistics.length);
+        assertTrue(statistics[0]
+                .startsWith("java.lang.String -> java.lang.Integer (number)"));
+        server.invoke(name, "reset", null, null);
+        assertEquals(0,
+                ((String[]) server.getAttribute(name, "Statistics")).length);
+        server.setAttribute(name, new Attribute("Enabled", Boolean.FALSE));
+        assertFalse(ConversionMonitor.isMonitor());
+    }
+
+    public static class Sample {
+    }
+
+}
@@ -0,0 +1,146 @@
+package net.isger.util.reflect;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import net.isger.util.reflect.conversion.Conversion;
+import net.isger.util.reflect.conversion.TryConversion;
+
+public class ConverterTest extends TestCase {
+
+    public ConverterTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(ConverterTest.class);
+    }
+
+    public void testInvalidate() {
+        /* 缓存无可用转换的调度 */
+        assertFalse(Converter.isSupport(Money.class));
+        try {
+            Converter.convert(Money.class, 5);
+            fail();
+        } catch (IllegalStateException e) {
+        }
+        /* 注册转换后调度版本递增，缓存调度失效 */
+        Converter.addConversion(new MoneyConversion());
+        assertTrue(Converter.isSupport(Money.class));
+        assertEquals(5, ((Money) Converter.convert(Money.class, 5)).cents);
+    }
+
+    public void testExclude() {
+        LabelConversion conversion = new LabelConversion();
+        Converter.addConversion(conversion);
+        assertEquals("a", ((Label) Converter.convert(Label.class, "a")).text);
+        for (int i = 0; i < 3; i++) {
+            try {
+                Converter.convert(Label.class, 1);
+                fail();
+            } catch (IllegalStateException e) {
+            }
+        }
+        /* 不支持的源类型仅尝试一次，其余源类型不受影响 */
+        assertEquals(1, conversion.getTries(Integer.class));
+        assertEquals("b", ((Label) Converter.convert(Label.class, "b")).text);
+        assertEquals(2, conversion.getTries(String.class));
+        try {
+            Converter.convert(Label.class, 1L);
+            fail();
+        } catch (IllegalStateException e) {
+        }
+        assertEquals(1, conversion.getTries(Long.class));
+        /* 注册转换后排除记录随调度重建 */
+        Converter.addConversion(new NoneConversion());
+        try {
+            Converter.convert(Label.class, 1);
+            fail();
+        } catch (IllegalStateException e) {
+        }
+        assertEquals(2, conversion.getTries(Integer.class));
+    }
+
+    public static class Money {
+
+        private final int cents;
+
+        public Money(int cents) {
+            this.cents = cents;
+        }
+
+    }
+
+    public static class Label {
+
+        private final String text;
+
+        public Label(String text) {
+            this.text = text;
+        }
+
+    }
+
+    public static class MoneyConversion implements Conversion {
+
+        public boolean isSupport(Type type) {
+            return type == Money.class;
+        }
+
+        public Object convert(Type type, Object value) {
+            return new Money(((Number) value).intValue());
+        }
+
+    }
+
+    public static class LabelConversion implements TryConversion {
+
+        private final Map<Class<?>, AtomicInteger> tries;
+
+        public LabelConversion() {
+            tries = new ConcurrentHashMap<Class<?>, AtomicInteger>();
+        }
+
+        public boolean isSupport(Type type) {
+            return type == Label.class;
+        }
+
+        public Object convert(Type type, Object value) {
+            return new Label((String) value);
+        }
+
+        public Object tryConvert(Type type, Object value) {
+            AtomicInteger count = tries.get(value.getClass());
+            if (count == null) {
+                tries.put(value.getClass(), count = new AtomicInteger());
+            }
+            count.incrementAndGet();
+            return value instanceof String ? convert(type, value)
+                    : UNSUPPORTED;
+        }
+
+        public int getTries(Class<?> source) {
+            AtomicInteger count = tries.get(source);
+            return count == null ? 0 : count.get();
+        }
+
+    }
+
+    public static class NoneConversion implements Conversion {
+
+        public boolean isSupport(Type type) {
+            return false;
+        }
+
+        public Object convert(Type type, Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
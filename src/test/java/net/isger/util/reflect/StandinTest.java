@@ -0,0 +1,82 @@
+package net.isger.util.reflect;
+
+import java.lang.reflect.Method;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class StandinTest extends TestCase {
+
+    public StandinTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(StandinTest.class);
+    }
+
+    public void testTyped() {
+        Operate source = new Operator().getSource();
+        assertEquals(9, source.square(3));
+        assertEquals(7L, source.add(3L, 4L));
+        assertEquals(1.5, source.half(3.0), 0);
+        assertEquals("ab", source.concat("a", "b"));
+    }
+
+    public void testBoxed() {
+        /* 未重写的类型化回调默认装箱转入 action(Method, Object[]) */
+        Operate source = new Standin<Operate>(Operate.class, true) {
+            public Object action(Method method, Object[] args) {
+                assertEquals(1, args.length);
+                return ((Integer) args[0]) * 2;
+            }
+        }.getSource();
+        assertEquals(6, source.square(3));
+    }
+
+    public static interface Operate {
+
+        public int square(int value);
+
+        public long add(long a, long b);
+
+        public double half(double value);
+
+        public String concat(Object a, Object b);
+
+    }
+
+    private static class Operator extends Standin<Operate> {
+
+        public Operator() {
+            super(Operate.class, true);
+        }
+
+        public Object action(Method method, Object[] args) {
+            throw new AssertionError("Boxed call for " + method.getName());
+        }
+
+        public int actionInt(int index, int arg0) {
+            assertEquals("square", getMethod(index).getName());
+            return arg0 * arg0;
+        }
+
+        public long actionLong(int index, long arg0, long arg1) {
+            assertEquals("add", getMethod(index).getName());
+            return arg0 + arg1;
+        }
+
+        public double actionDouble(int index, double arg0) {
+            assertEquals("half", getMethod(index).getName());
+            return arg0 / 2;
+        }
+
+        public Object action(int index, Object arg0, Object arg1) {
+            assertEquals("concat", getMethod(index).getName());
+            return String.valueOf(arg0) + arg1;
+        }
+
+    }
+
+}
@@ -0,0 +1,36 @@
+package net.isger.util.reflect.conversion;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class ArrayConversionTest extends TestCase {
+
+    public ArrayConversionTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(ArrayConversionTest.class);
+    }
+
+    public void testKernels() {
+        ArrayConversion conversion = ArrayConversion.CONVERSION;
+        assertTrue(Arrays.equals(new int[] { 1, 2 }, (int[]) conversion
+                .convert(int[].class, new long[] { 1L, 2L })));
+        assertTrue(Arrays.equals(new float[] { 1.5f, 2f },
+                (float[]) conversion.convert(float[].class,
+                        new double[] { 1.5, 2 })));
+        assertTrue(Arrays.equals(new short[] { 1, 4464 },
+                (short[]) conversion.convert(short[].class,
+                        new int[] { 1, 70000 })));
+        assertTrue(Arrays.equals(new byte[] { 12, -3 },
+                (byte[]) conversion.convert(byte[].class,
+                        Arrays.asList("12", -3))));
+        assertTrue(Arrays.equals(new long[] { 42L }, (long[]) conversion
+                .convert(long[].class, " 42 ")));
+    }
+
+}
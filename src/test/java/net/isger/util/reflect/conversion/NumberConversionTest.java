@@ -0,0 +1,129 @@
+package net.isger.util.reflect.conversion;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class NumberConversionTest extends TestCase {
+
+    public NumberConversionTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(NumberConversionTest.class);
+    }
+
+    public void testParseLong() {
+        assertEquals(0L, NumberConversion.parseLong("0"));
+        assertEquals(-42L, NumberConversion.parseLong("-42"));
+        assertEquals(42L, NumberConversion.parseLong("+42"));
+        assertEquals(42L, NumberConversion.parseLong(" \t42\n "));
+        assertEquals(42L, NumberConversion.parseLong(" 42 ".getBytes()));
+        assertEquals(Long.MAX_VALUE,
+                NumberConversion.parseLong("9223372036854775807"));
+        assertEquals(Long.MIN_VALUE + 1,
+                NumberConversion.parseLong("-9223372036854775807"));
+        /* 溢出、空白、单独符号、小数及指数均回退 */
+        assertEquals(NumberConversion.UNPARSED,
+                NumberConversion.parseLong("9223372036854775808"));
+        assertEquals(NumberConversion.UNPARSED,
+                NumberConversion.parseLong("-9223372036854775809"));
+        assertEquals(NumberConversion.UNPARSED,
+                NumberConversion.parseLong(""));
+        assertEquals(NumberConversion.UNPARSED,
+                NumberConversion.parseLong("  "));
+        assertEquals(NumberConversion.UNPARSED,
+                NumberConversion.parseLong("+"));
+        assertEquals(NumberConversion.UNPARSED,
+                NumberConversion.parseLong("-"));
+        assertEquals(NumberConversion.UNPARSED,
+                NumberConversion.parseLong("1.5"));
+        assertEquals(NumberConversion.UNPARSED,
+                NumberConversion.parseLong("1e3"));
+        assertEquals(NumberConversion.UNPARSED,
+                NumberConversion.parseLong("1 2"));
+    }
+
+    public void testConvert() {
+        NumberConversion conversion = NumberConversion.CONVERSION;
+        assertEquals(Long.valueOf(Long.MIN_VALUE),
+                conversion.convert(Long.class, "-9223372036854775808"));
+        assertEquals(Long.valueOf(Long.MAX_VALUE),
+                conversion.convert(Long.class, " 9223372036854775807 "));
+        assertEquals(Long.valueOf(1500L),
+                conversion.convert(Long.class, "1.5e3"));
+        assertEquals(Integer.valueOf(2),
+                conversion.convert(Integer.TYPE, "2.9"));
+        assertEquals(Integer.valueOf(Integer.MAX_VALUE),
+                conversion.convert(Integer.class, "2147483648"));
+        assertEquals(Integer.valueOf(Integer.MIN_VALUE),
+                conversion.convert(Integer.class, "-2147483649"));
+        assertEquals(Integer.valueOf(-7),
+                conversion.convert(Integer.class, "-7".getBytes()));
+        assertEquals(Long.valueOf(Long.MAX_VALUE),
+                conversion.convert(Long.class, "9223372036854775808"));
+        try {
+            conversion.convert(Integer.class, "+");
+            fail();
+        } catch (NumberFormatException e) {
+        }
+    }
+
+    public void testDecimal() {
+        assertTrue(NumberConversion.isDecimal("123"));
+        assertTrue(NumberConversion.isDecimal(" -1.5 "));
+        assertTrue(NumberConversion.isDecimal("+.5"));
+        assertTrue(NumberConversion.isDecimal("5."));
+        assertTrue(NumberConversion.isDecimal("1e10"));
+        assertTrue(NumberConversion.isDecimal("1.5E-3"));
+        assertTrue(NumberConversion.isDecimal("12".getBytes()));
+        assertFalse(NumberConversion.isDecimal(""));
+        assertFalse(NumberConversion.isDecimal(" "));
+        assertFalse(NumberConversion.isDecimal("+"));
+        assertFalse(NumberConversion.isDecimal("."));
+        assertFalse(NumberConversion.isDecimal("1.2.3"));
+        assertFalse(NumberConversion.isDecimal("1e"));
+        assertFalse(NumberConversion.isDecimal("1e+"));
+        assertFalse(NumberConversion.isDecimal("e5"));
+        assertFalse(NumberConversion.isDecimal("2020-01-02"));
+        assertFalse(NumberConversion.isDecimal("--1"));
+        assertFalse(NumberConversion.isDecimal("abc1"));
+    }
+
+    public void testNumeric() {
+        assertTrue(NumberConversion.isNumeric("42"));
+        assertTrue(NumberConversion.isNumeric("NaN"));
+        assertTrue(NumberConversion.isNumeric(" -Infinity"));
+        assertTrue(NumberConversion.isNumeric("+Infinity".getBytes()));
+        assertFalse(NumberConversion.isNumeric("Yes"));
+        assertFalse(NumberConversion.isNumeric("Ny"));
+        assertFalse(NumberConversion.isNumeric("abc1"));
+        assertFalse(NumberConversion.isNumeric("Infinite"));
+        assertFalse(NumberConversion.isNumeric("nan"));
+    }
+
+    public void testTryConvert() {
+        NumberConversion conversion = NumberConversion.CONVERSION;
+        assertSame(TryConversion.UNCONVERTED,
+                conversion.tryConvert(Integer.class, "Yes"));
+        assertSame(TryConversion.UNCONVERTED,
+                conversion.tryConvert(Integer.class, "2020-01-02"));
+        assertEquals(Integer.valueOf(12),
+                conversion.tryConvert(Integer.class, " 12 "));
+        assertTrue(((Double) conversion.tryConvert(Double.class, "NaN"))
+                .isNaN());
+        /* 非十进制形式回退解析 */
+        assertEquals(Double.valueOf(1),
+                conversion.tryConvert(Double.class, "1d"));
+        assertEquals(Float.valueOf(2.5f),
+                conversion.tryConvert(Float.class, "2.5f"));
+        assertEquals(Double.valueOf(8),
+                conversion.tryConvert(Double.class, "0x1p3"));
+        assertEquals(Integer.valueOf(8),
+                conversion.tryConvert(Integer.class, "0x1p3"));
+        assertSame(TryConversion.UNCONVERTED,
+                conversion.tryConvert(Integer.class, "1x"));
+    }
+
+}
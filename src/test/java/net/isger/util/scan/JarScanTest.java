@@ -0,0 +1,127 @@
+package net.isger.util.scan;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class JarScanTest extends TestCase {
+
+    private static final long ENTRY_TIME = 1262304000000L;
+
+    private File jar;
+
+    private JarScan scan;
+
+    public JarScanTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(JarScanTest.class);
+    }
+
+    protected void setUp() throws Exception {
+        jar = File.createTempFile("scan", ".jar");
+        scan = new JarScan();
+        write("top.class", "a/b/X.class", "a/b/readme.txt", "a/b/c/Y.class",
+                "a/b/c/d/Z.class", "a/bc/W.class");
+    }
+
+    protected void tearDown() throws Exception {
+        jar.delete();
+    }
+
+    public void testFlat() throws Exception {
+        assertEquals(Arrays.asList("/X.class"), scan("a/b", false));
+        assertEquals(Arrays.asList("/X.class"), scan("/a/b/", false));
+        assertEquals(Arrays.asList("/top.class"), scan("", false));
+        assertEquals(Collections.emptyList(), scan("a/none", false));
+    }
+
+    public void testDeep() throws Exception {
+        /* 同前缀目录（a/bc）不属于 a/b */
+        assertEquals(Arrays.asList("/X.class", "/c/Y.class", "/c/d/Z.class"),
+                scan("a/b", true));
+        assertEquals(Arrays.asList("/Y.class", "/d/Z.class"),
+                scan("a/b/c", true));
+        assertEquals(Arrays.asList("/W.class"), scan("a/bc", true));
+    }
+
+    public void testModified() throws Exception {
+        assertEquals(Arrays.asList("/X.class"), scan("a/b", false));
+        /* 大小及修改时间均相同时沿用缓存索引 */
+        long length = jar.length();
+        long modified = jar.lastModified();
+        write("top.class", "a/b/S.class", "a/b/readme.txt", "a/b/c/Y.class",
+                "a/b/c/d/Z.class", "a/bc/W.class");
+        assertEquals(length, jar.length());
+        assertTrue(jar.setLastModified(modified));
+        assertEquals(Arrays.asList("/X.class"), scan("a/b", false));
+        /* 大小相同、修改时间不同 */
+        write("top.class", "a/b/V.class", "a/b/readme.txt", "a/b/c/Y.class",
+                "a/b/c/d/Z.class", "a/bc/W.class");
+        assertEquals(length, jar.length());
+        assertTrue(jar.setLastModified(modified + 10000));
+        assertEquals(Arrays.asList("/V.class"), scan("a/b", false));
+        /* 修改时间相同、大小不同 */
+        modified = jar.lastModified();
+        write("a/b/U.class", "a/b/T.class");
+        assertTrue(jar.setLastModified(modified));
+        assertEquals(Arrays.asList("/U.class", "/T.class"),
+                scan("a/b", false));
+    }
+
+    public void testJarFile() throws Exception {
+        List<String> names = scan.scan(jar.getPath(), new Filter(false));
+        assertEquals(Arrays.asList("/top.class"), names);
+    }
+
+    private List<String> scan(String path, boolean deep) throws Exception {
+        return scan.scan(new URL("jar:" + jar.toURI() + "!/" + path),
+                new Filter(deep));
+    }
+
+    private void write(String... names) throws Exception {
+        JarOutputStream jos = new JarOutputStream(new FileOutputStream(jar));
+        try {
+            JarEntry entry;
+            for (String name : names) {
+                entry = new JarEntry(name);
+                entry.setTime(ENTRY_TIME);
+                jos.putNextEntry(entry);
+                jos.write(new byte[] { 1, 2, 3 });
+                jos.closeEntry();
+            }
+        } finally {
+            jos.close();
+        }
+    }
+
+    private static class Filter implements ScanFilter {
+
+        private final boolean deep;
+
+        public Filter(boolean deep) {
+            this.deep = deep;
+        }
+
+        public boolean isDeep(File root, File path) {
+            return deep;
+        }
+
+        public boolean accept(String name) {
+            return name.endsWith(".class");
+        }
+
+    }
+
+}